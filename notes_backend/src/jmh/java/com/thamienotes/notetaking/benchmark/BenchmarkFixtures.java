@@ -0,0 +1,62 @@
+package com.thamienotes.notetaking.benchmark;
+
+import static com.thamienotes.notetaking.benchmark.BenchmarkSupport.text;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.thamienotes.notetaking.models.Folder;
+import com.thamienotes.notetaking.models.Notes;
+import com.thamienotes.notetaking.models.TimeOrderedIdGenerator;
+import com.thamienotes.notetaking.models.Users;
+
+public class BenchmarkFixtures {
+    public static final String JWT_SECRET = "benchmark-secret-0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    public static Users user(){
+        Users user = new Users();
+        user.setId(TimeOrderedIdGenerator.next());
+        user.setUsername("bench-user");
+        user.setRole("USER");
+        user.setTokenVersion(0);
+        return user;
+    }
+
+    public static List<Folder> folders(Users user, int count){
+        List<Folder> folders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Folder folder = new Folder();
+            folder.setId(TimeOrderedIdGenerator.next());
+            folder.setTitle("Folder " + i);
+            folder.setUser(user);
+            folder.setNotes(new ArrayList<>());
+            folders.add(folder);
+        }
+        return folders;
+    }
+
+    public static List<Notes> notes(Users user, List<Folder> folders, int count, int contentLength){
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<Notes> notes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Notes note = new Notes();
+            note.setId(TimeOrderedIdGenerator.next());
+            note.setTitle(text(random, 40));
+            note.setContent(text(random, contentLength));
+            note.setCreatedAt(now.minusDays(i));
+            note.setUpdatedAt(now.minusHours(i));
+            note.setVersion(i % 7);
+            note.setUser(user);
+            if (!folders.isEmpty() && i % 3 != 0) {
+                Folder folder = folders.get(i % folders.size());
+                note.setFolder(folder);
+                folder.getNotes().add(note);
+            }
+            notes.add(note);
+        }
+        return notes;
+    }
+}
@@ -0,0 +1,57 @@
+package com.thamienotes.notetaking.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.thamienotes.notetaking.dtos.Note.NoteDetailsDto;
+import com.thamienotes.notetaking.mapper.NoteMapper;
+import com.thamienotes.notetaking.models.Users;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NoteJsonBenchmark {
+    @Param({"10", "100", "1000"})
+    int noteCount;
+
+    @Param({"200", "4000", "64000"})
+    int contentLength;
+
+    private ObjectWriter writer;
+    private List<NoteDetailsDto> notes;
+
+    @Setup
+    public void setUp(){
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, NoteDetailsDto.class));
+        Users user = BenchmarkFixtures.user();
+        notes = BenchmarkFixtures.notes(user, BenchmarkFixtures.folders(user, 10), noteCount, contentLength)
+                        .stream()
+                        .map(NoteMapper::toDto)
+                        .toList();
+    }
+
+    @Benchmark
+    public byte[] serializeNotes() throws JsonProcessingException {
+        return writer.writeValueAsBytes(notes);
+    }
+}
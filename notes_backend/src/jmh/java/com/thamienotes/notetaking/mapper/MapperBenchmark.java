@@ -0,0 +1,93 @@
+package com.thamienotes.notetaking.mapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thamienotes.notetaking.benchmark.BenchmarkFixtures;
+import com.thamienotes.notetaking.dtos.Folder.FolderDetailsDto;
+import com.thamienotes.notetaking.dtos.Folder.FolderSummaryDto;
+import com.thamienotes.notetaking.dtos.Note.NoteDetailsDto;
+import com.thamienotes.notetaking.dtos.Note.NoteSummaryDto;
+import com.thamienotes.notetaking.models.Folder;
+import com.thamienotes.notetaking.models.Notes;
+import com.thamienotes.notetaking.models.Users;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"100", "1000"})
+    int noteCount;
+
+    @Param({"200", "4000"})
+    int contentLength;
+
+    @Param({"20"})
+    int folderCount;
+
+    private List<Notes> notes;
+    private List<Folder> folders;
+    private List<NoteSummaryDto> summaries;
+    private List<NoteDetailsDto> folderedDetails;
+
+    @Setup
+    public void setUp(){
+        Users user = BenchmarkFixtures.user();
+        folders = BenchmarkFixtures.folders(user, folderCount);
+        notes = BenchmarkFixtures.notes(user, folders, noteCount, contentLength);
+        summaries = notes.stream()
+                        .filter(note -> note.getFolder() != null)
+                        .map(note -> new NoteSummaryDto(note.getId(), note.getTitle(), note.getPreview(),
+                                note.getContentLength(), note.getCreatedAt(), note.getUpdatedAt(),
+                                note.getFolder().getId()))
+                        .toList();
+        folderedDetails = notes.stream()
+                        .filter(note -> note.getFolder() != null)
+                        .map(NoteMapper::toDto)
+                        .toList();
+    }
+
+    @Benchmark
+    public List<NoteDetailsDto> noteToDto(){
+        return notes.stream().map(NoteMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public List<FolderSummaryDto> folderToSummaryDto(){
+        Map<String, List<NoteSummaryDto>> notesByFolder = summaries
+                        .stream()
+                        .collect(Collectors.groupingBy(NoteSummaryDto::getFolderId));
+        return folders.stream()
+                        .map(folder -> FolderDetailsMapper.toSummaryDto(folder,
+                                notesByFolder.getOrDefault(folder.getId(), List.of())))
+                        .toList();
+    }
+
+    @Benchmark
+    public List<FolderDetailsDto> folderToDto(){
+        Map<String, List<NoteDetailsDto>> notesByFolder = folderedDetails
+                        .stream()
+                        .collect(Collectors.groupingBy(NoteDetailsDto::getFolderId));
+        return folders.stream()
+                        .map(folder -> FolderDetailsMapper.toDto(folder,
+                                notesByFolder.getOrDefault(folder.getId(), List.of())))
+                        .toList();
+    }
+}
@@ -0,0 +1,84 @@
+package com.thamienotes.notetaking.securitystuff;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import com.thamienotes.notetaking.benchmark.BenchmarkFixtures;
+import com.thamienotes.notetaking.models.Users;
+import com.thamienotes.notetaking.repositories.UserRepo;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+    @Param({"true", "false"})
+    boolean stateless;
+
+    @Param({"true", "false"})
+    boolean tokenCached;
+
+    private JwtAuthenticationFilter filter;
+    private String token;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp(){
+        Users user = BenchmarkFixtures.user();
+        JwtUtil jwtUtil = new JwtUtil(BenchmarkFixtures.JWT_SECRET);
+        token = jwtUtil.generateToken(user);
+
+        TokenEpochCache tokenEpochCache = new TokenEpochCache(3600, 10000);
+        tokenEpochCache.userRepo = (UserRepo) Proxy.newProxyInstance(UserRepo.class.getClassLoader(),
+                new Class<?>[] { UserRepo.class },
+                (proxy, method, args) -> method.getName().equals("findTokenVersionById")
+                        ? Optional.of(user.getTokenVersion())
+                        : null);
+
+        filter = new JwtAuthenticationFilter();
+        filter.jwtUtil = jwtUtil;
+        filter.verifiedTokenCache = new VerifiedTokenCache(10000);
+        filter.tokenEpochCache = tokenEpochCache;
+        filter.userDetailsService = username -> User.withUsername(username).password("unused").roles(user.getRole()).build();
+        filter.stateless = stateless;
+
+        request = new MockHttpServletRequest("GET", "/note/getUserNotes");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void doFilterInternal(Blackhole blackhole) throws ServletException, IOException {
+        if (!tokenCached) {
+            filter.verifiedTokenCache.invalidate(token);
+        }
+        FilterChain chain = (req, res) -> blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        filter.doFilterInternal(request, response, chain);
+        SecurityContextHolder.clearContext();
+    }
+}
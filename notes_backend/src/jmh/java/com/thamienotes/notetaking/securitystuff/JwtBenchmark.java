@@ -0,0 +1,57 @@
+package com.thamienotes.notetaking.securitystuff;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.thamienotes.notetaking.benchmark.BenchmarkFixtures;
+import com.thamienotes.notetaking.models.Users;
+
+import io.jsonwebtoken.Claims;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+    private JwtUtil jwtUtil;
+    private Users user;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp(){
+        jwtUtil = new JwtUtil(BenchmarkFixtures.JWT_SECRET);
+        user = BenchmarkFixtures.user();
+        userDetails = User.withUsername(user.getUsername()).password("unused").roles(user.getRole()).build();
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken(){
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims getClaims(){
+        return jwtUtil.getClaims(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid(){
+        return jwtUtil.isTokenValid(token, userDetails);
+    }
+}
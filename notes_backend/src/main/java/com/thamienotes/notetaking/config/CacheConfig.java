@@ -0,0 +1,32 @@
+package com.thamienotes.notetaking.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thamienotes.notetaking.services.UserLookupService;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(@Value("${notes.cache.users.max-size:10000}") long maxSize,
+                                     @Value("${notes.cache.users.ttl-seconds:300}") long ttlSeconds) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats());
+        cacheManager.setCacheNames(List.of(UserLookupService.USERS_BY_USERNAME));
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+}
@@ -0,0 +1,21 @@
+package com.thamienotes.notetaking.config;
+
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateConfig implements HibernatePropertiesCustomizer {
+    @Value("${notes.jdbc.batch-size:50}") int batchSize;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+        hibernateProperties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+        hibernateProperties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        hibernateProperties.putIfAbsent(AvailableSettings.BATCH_VERSIONED_DATA, true);
+    }
+}
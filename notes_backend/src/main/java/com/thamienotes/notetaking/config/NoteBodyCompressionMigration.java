@@ -0,0 +1,54 @@
+package com.thamienotes.notetaking.config;
+
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.thamienotes.notetaking.models.CompressedTextConverter;
+
+@Component
+public class NoteBodyCompressionMigration {
+    private static final Logger log = LoggerFactory.getLogger(NoteBodyCompressionMigration.class);
+    private static final CompressedTextConverter CONVERTER = new CompressedTextConverter();
+
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @Value("${notes.compression.migration.batch-size:200}") int batchSize;
+
+    private volatile boolean done;
+
+    @Scheduled(initialDelayString = "${notes.compression.migration.initial-delay-ms:30000}",
+               fixedDelayString = "${notes.compression.migration.interval-ms:5000}")
+    public void migrateBatch() {
+        if (done) {
+            return;
+        }
+        Integer migrated = transactionTemplate.execute(status -> compressBatch());
+        if (migrated == null || migrated < batchSize) {
+            done = true;
+            log.info("Note body compression migration finished");
+        }
+    }
+
+    private int compressBatch() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "select id, content from note_body where data is null and content is not null limit " + batchSize);
+
+        List<Object[]> updates = rows.stream()
+                .map(row -> new Object[] {
+                    CONVERTER.convertToDatabaseColumn((String) row.get("content")), row.get("id")
+                })
+                .toList();
+        jdbcTemplate.batchUpdate("update note_body set data = ?, content = null where id = ? and data is null", updates);
+        return rows.size();
+    }
+}
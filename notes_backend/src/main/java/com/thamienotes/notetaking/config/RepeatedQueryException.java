@@ -0,0 +1,8 @@
+package com.thamienotes.notetaking.config;
+
+// Not an IllegalStateException: Spring's JPA exception translation would rewrap that as InvalidDataAccessApiUsageException.
+public class RepeatedQueryException extends RuntimeException {
+    public RepeatedQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,97 @@
+package com.thamienotes.notetaking.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+// Shared by the request thread and the async worker that writes a streamed response, so all counters are concurrent.
+public class RequestSqlStats {
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final String label;
+    private final int repeatThreshold;
+    private final boolean failOnRepeat;
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final Map<String, String> shapeBySql = new ConcurrentHashMap<>();
+    private final Map<String, Integer> executionsByShape = new ConcurrentHashMap<>();
+    private final Map<String, Integer> repeatedShapes = new ConcurrentHashMap<>();
+
+    private RequestSqlStats(String label, int repeatThreshold, boolean failOnRepeat){
+        this.label = label;
+        this.repeatThreshold = repeatThreshold;
+        this.failOnRepeat = failOnRepeat;
+    }
+
+    public static RequestSqlStats start(String label, int repeatThreshold, boolean failOnRepeat){
+        RequestSqlStats stats = new RequestSqlStats(label, repeatThreshold, failOnRepeat);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void resume(RequestSqlStats stats){
+        CURRENT.set(stats);
+    }
+
+    public static void stop(){
+        CURRENT.remove();
+    }
+
+    public static RequestSqlStats current(){
+        return CURRENT.get();
+    }
+
+    public void statementExecuted(String sql, long elapsedNanos){
+        statements.increment();
+        nanos.add(elapsedNanos);
+        if (sql == null) {
+            return;
+        }
+        String shape = shapeBySql.computeIfAbsent(sql, RequestSqlStats::shapeOf);
+        int executions = executionsByShape.merge(shape, 1, Integer::sum);
+        if (repeatThreshold > 0 && executions >= repeatThreshold) {
+            repeatedShapes.merge(shape, executions, Math::max);
+            if (failOnRepeat && executions == repeatThreshold) {
+                throw new RepeatedQueryException(label + " ran the same query " + executions + " times: " + shape);
+            }
+        }
+    }
+
+    public void rowFetched(long elapsedNanos){
+        rows.increment();
+        nanos.add(elapsedNanos);
+    }
+
+    public long getStatements(){
+        return statements.sum();
+    }
+
+    public long getRows(){
+        return rows.sum();
+    }
+
+    public long getNanos(){
+        return nanos.sum();
+    }
+
+    public Map<String, Integer> repeatedShapes(){
+        return repeatedShapes;
+    }
+
+    public boolean failsOnRepeat(){
+        return failOnRepeat;
+    }
+
+    static String shapeOf(String sql){
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").strip();
+    }
+}
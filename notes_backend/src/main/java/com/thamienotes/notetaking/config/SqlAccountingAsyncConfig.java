@@ -0,0 +1,33 @@
+package com.thamienotes.notetaking.config;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class SqlAccountingAsyncConfig implements WebMvcConfigurer {
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+                RequestSqlStats stats = (RequestSqlStats) request.getAttribute(
+                        SqlAccountingFilter.STATS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+                if (stats != null) {
+                    RequestSqlStats.resume(stats);
+                }
+            }
+
+            @Override
+            public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+                RequestSqlStats.stop();
+            }
+        });
+    }
+}
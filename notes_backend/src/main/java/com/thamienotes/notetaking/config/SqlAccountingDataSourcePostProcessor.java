@@ -0,0 +1,89 @@
+package com.thamienotes.notetaking.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SqlAccountingDataSourcePostProcessor implements BeanPostProcessor {
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final Set<String> PREPARE_METHODS = Set.of("prepareStatement", "prepareCall");
+
+    private final boolean enabled;
+
+    public SqlAccountingDataSourcePostProcessor(@Value("${notes.sql-accounting.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, null);
+        }
+        return bean;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Class<T> type, T target, String preparedSql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            RequestSqlStats stats = RequestSqlStats.current();
+            long start = stats == null ? 0 : System.nanoTime();
+            Object result = invoke(target, method, args);
+            if (stats != null) {
+                if (target instanceof Statement && EXECUTE_METHODS.contains(method.getName())) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                    stats.statementExecuted(sql, System.nanoTime() - start);
+                } else if (target instanceof ResultSet && method.getName().equals("next")) {
+                    if (Boolean.TRUE.equals(result)) {
+                        stats.rowFetched(System.nanoTime() - start);
+                    }
+                }
+            }
+            return wrap(method, args, result);
+        };
+        return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object wrap(Method method, Object[] args, Object result) {
+        if (result instanceof Connection connection && method.getReturnType() == Connection.class) {
+            return proxy(Connection.class, connection, null);
+        }
+        if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+            String sql = PREPARE_METHODS.contains(method.getName()) ? (String) args[0] : null;
+            return proxy((Class<Statement>) method.getReturnType(), statement, sql);
+        }
+        if (result instanceof ResultSet resultSet && method.getReturnType() == ResultSet.class) {
+            return proxy(ResultSet.class, resultSet, null);
+        }
+        return result;
+    }
+
+    private Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.thamienotes.notetaking.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlAccountingFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(SqlAccountingFilter.class);
+    static final String STATS_ATTRIBUTE = SqlAccountingFilter.class.getName() + ".stats";
+
+    @Autowired MeterRegistry meterRegistry;
+
+    @Value("${notes.sql-accounting.enabled:true}") boolean enabled;
+    @Value("${notes.sql-accounting.repeat-threshold:10}") int repeatThreshold;
+    @Value("${notes.sql-accounting.on-repeat:log}") String onRepeat;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestSqlStats stats = (RequestSqlStats) request.getAttribute(STATS_ATTRIBUTE);
+        if (stats == null) {
+            stats = RequestSqlStats.start(request.getMethod() + " " + request.getRequestURI(),
+                    repeatThreshold, "fail".equalsIgnoreCase(onRepeat));
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+        } else {
+            RequestSqlStats.resume(stats);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestSqlStats.stop();
+            if (!isAsyncStarted(request)) {
+                request.removeAttribute(STATS_ATTRIBUTE);
+                record(request, stats);
+                recordRepeats(request, stats);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestSqlStats stats) {
+        Tags tags = Tags.of("method", request.getMethod(), "uri", endpoint(request));
+        DistributionSummary.builder("notes.sql.statements")
+                .description("JDBC statements executed per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("notes.sql.rows")
+                .description("Rows fetched per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getRows());
+        Timer.builder("notes.sql.time")
+                .description("Time spent in JDBC per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(stats.getNanos()));
+    }
+
+    private void recordRepeats(HttpServletRequest request, RequestSqlStats stats) {
+        for (Map.Entry<String, Integer> shape : stats.repeatedShapes().entrySet()) {
+            Counter.builder("notes.sql.repeated")
+                    .description("HTTP requests that repeated one query shape past the threshold")
+                    .tags("method", request.getMethod(), "uri", endpoint(request))
+                    .register(meterRegistry)
+                    .increment();
+            if (!stats.failsOnRepeat()) {
+                log.warn("{} {} ran the same query {} times: {}",
+                        request.getMethod(), endpoint(request), shape.getValue(), shape.getKey());
+            }
+        }
+    }
+
+    private String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+}
@@ -3,15 +3,21 @@ package com.thamienotes.notetaking.controllers;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.thamienotes.notetaking.dtos.Folder.FolderDetailsDto;
+import com.thamienotes.notetaking.dtos.Folder.FolderSummaryDto;
 import com.thamienotes.notetaking.services.FolderService;
 
 
@@ -29,7 +35,34 @@ public class FolderController {
     
     @PreAuthorize("hasRole('USER')")
     @GetMapping("/getFolders")
-    public ResponseEntity<List<FolderDetailsDto>> getFolders(){
-        return ResponseEntity.ok(folderService.getFolders());
+    public ResponseEntity<List<FolderDetailsDto>> getFolders(WebRequest request){
+        String etag = folderService.getFoldersEtag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(folderService.getFolders());
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/getFolderSummaries")
+    public ResponseEntity<List<FolderSummaryDto>> getFolderSummaries(WebRequest request){
+        String etag = folderService.getFoldersEtag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(folderService.getFolderSummaries());
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @DeleteMapping("/deleteFolder/{folderId}")
+    public ResponseEntity<String> deleteFolder(@PathVariable String folderId) {
+        folderService.deleteFolder(folderId);
+        return ResponseEntity.ok("Folder deleted successfully");
     }
 }
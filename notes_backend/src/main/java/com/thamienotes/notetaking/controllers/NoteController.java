@@ -1,28 +1,57 @@
 package com.thamienotes.notetaking.controllers;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.thamienotes.notetaking.dtos.Note.NoteDetailsDto;
 import com.thamienotes.notetaking.dtos.Note.NoteFolderDto;
+import com.thamienotes.notetaking.dtos.Note.NoteImportResultDto;
+import com.thamienotes.notetaking.dtos.Note.NotePageDto;
+import com.thamienotes.notetaking.dtos.Note.NotePatchDto;
+import com.thamienotes.notetaking.dtos.Note.NoteRevisionDto;
+import com.thamienotes.notetaking.dtos.Note.NoteRevisionSummaryDto;
+import com.thamienotes.notetaking.dtos.Note.NoteSearchHitDto;
+import com.thamienotes.notetaking.dtos.Note.NoteTitleDto;
+import com.thamienotes.notetaking.dtos.Note.NoteVersionDto;
+import com.thamienotes.notetaking.services.NoteExportService;
+import com.thamienotes.notetaking.services.NoteImportService;
+import com.thamienotes.notetaking.services.NoteRevisionService;
 import com.thamienotes.notetaking.services.NoteService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 
 
 @RestController
 @RequestMapping("/note")
 public class NoteController {
     @Autowired NoteService noteService;
+    @Autowired NoteImportService noteImportService;
+    @Autowired NoteExportService noteExportService;
+    @Autowired NoteRevisionService noteRevisionService;
+    @Autowired ObjectMapper objectMapper;
 
     @PreAuthorize("hasRole('USER')")
     @PostMapping("/createNote")
@@ -31,10 +60,68 @@ public class NoteController {
         return ResponseEntity.ok("Note created successfully");
     }
 
+    @PreAuthorize("hasRole('USER')")
+    @PostMapping(value = "/importNotes", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<NoteImportResultDto>> importNotes(@RequestBody List<NoteDetailsDto> notes) {
+        return ResponseEntity.ok(noteImportService.importNotes(notes.iterator()));
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @PostMapping(value = "/importNotes", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<NoteImportResultDto>> importNotesStream(HttpServletRequest request) throws IOException {
+        try (MappingIterator<NoteDetailsDto> notes = objectMapper.readerFor(NoteDetailsDto.class)
+                                                                .readValues(request.getInputStream())) {
+            return ResponseEntity.ok(noteImportService.importNotes(notes));
+        }
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/exportNotes")
+    public ResponseEntity<StreamingResponseBody> exportNotes(@RequestParam(defaultValue = "ndjson") String format) {
+        if ("markdown".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/zip"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"notes.zip\"")
+                    .body(noteExportService.exportMarkdownZip());
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"notes.ndjson\"")
+                .body(noteExportService.exportNdjson());
+    }
+
     @PreAuthorize("hasRole('USER')")
     @GetMapping("/getUserNotes")
-    public ResponseEntity<List<NoteDetailsDto>> getUserNotes() {
-        return ResponseEntity.ok(noteService.getUserNotes());
+    public ResponseEntity<List<NoteDetailsDto>> getUserNotes(WebRequest request) {
+        String etag = noteService.getUserNotesEtag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(noteService.getUserNotes());
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/getUserNotesPage")
+    public ResponseEntity<NotePageDto> getUserNotesPage(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(noteService.getUserNotesPage(cursor, size));
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/search")
+    public ResponseEntity<List<NoteSearchHitDto>> searchNotes(@RequestParam String q,
+                                                              @RequestParam(required = false) Integer limit) throws IOException {
+        return ResponseEntity.ok(noteService.searchNotes(q, limit));
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/suggestTitles")
+    public ResponseEntity<List<NoteTitleDto>> suggestTitles(@RequestParam String prefix,
+                                                            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(noteService.suggestTitles(prefix, limit));
     }
 
     @PreAuthorize("hasRole('USER')")
@@ -44,11 +131,49 @@ public class NoteController {
         return ResponseEntity.ok(updatedNote);
     }
 
+    @PreAuthorize("hasRole('USER')")
+    @PatchMapping("/patchNote/{noteId}")
+    public ResponseEntity<NoteVersionDto> patchNote(@PathVariable String noteId, @RequestBody NotePatchDto dto) {
+        return ResponseEntity.ok(noteService.patchNote(noteId, dto));
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/getRevisions/{noteId}")
+    public ResponseEntity<List<NoteRevisionSummaryDto>> getRevisions(@PathVariable String noteId) {
+        return ResponseEntity.ok(noteRevisionService.getRevisions(noteId));
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/getRevision/{noteId}/{revisionNo}")
+    public ResponseEntity<NoteRevisionDto> getRevision(@PathVariable String noteId, @PathVariable int revisionNo) {
+        return ResponseEntity.ok(noteRevisionService.getRevision(noteId, revisionNo));
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @PostMapping("/restoreRevision/{noteId}/{revisionNo}")
+    public ResponseEntity<NoteDetailsDto> restoreRevision(@PathVariable String noteId, @PathVariable int revisionNo) {
+        return ResponseEntity.ok(noteService.restoreRevision(noteId, revisionNo));
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @PutMapping("/autosave/{noteId}")
+    public ResponseEntity<Void> autosaveNote(@PathVariable String noteId, @RequestBody NoteDetailsDto dto) {
+        noteService.autosaveNote(noteId, dto);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @DeleteMapping("/deleteNote/{noteId}")
+    public ResponseEntity<String> deleteNote(@PathVariable String noteId) {
+        noteService.deleteNote(noteId);
+        return ResponseEntity.ok("Note deleted successfully");
+    }
+
     @PreAuthorize("hasRole('USER')")
     @PutMapping("addNotesToFolder")
     public ResponseEntity<String> addNotesToFolder(@RequestBody NoteFolderDto dto) {
-        noteService.addNoteToFolder(dto);
-        return ResponseEntity.ok("Note added to folder");
+        int moved = noteService.addNoteToFolder(dto);
+        return ResponseEntity.ok(moved + " note(s) added to folder");
     }
     
 }
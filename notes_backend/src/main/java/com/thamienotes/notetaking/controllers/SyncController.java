@@ -0,0 +1,28 @@
+package com.thamienotes.notetaking.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.thamienotes.notetaking.dtos.Sync.SyncDto;
+import com.thamienotes.notetaking.services.AutosaveService;
+import com.thamienotes.notetaking.services.SyncService;
+
+
+@RestController
+@RequestMapping("/sync")
+public class SyncController {
+    @Autowired SyncService syncService;
+    @Autowired AutosaveService autosaveService;
+
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/changes")
+    public ResponseEntity<SyncDto> getChanges(@RequestParam(required = false) Long since) {
+        autosaveService.flushCurrentUser();
+        return ResponseEntity.ok(syncService.getChanges(since));
+    }
+}
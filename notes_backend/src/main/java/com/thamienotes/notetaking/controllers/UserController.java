@@ -3,10 +3,12 @@ package com.thamienotes.notetaking.controllers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.thamienotes.notetaking.dtos.User.PasswordChangeDto;
 import com.thamienotes.notetaking.dtos.User.UserDto;
 import com.thamienotes.notetaking.services.UserService;
 
@@ -21,5 +23,17 @@ public class UserController {
         userService.addNewUser(dto);
         return ResponseEntity.ok("User added successfully");
     }
+
+    @PutMapping("/changePassword")
+    public ResponseEntity<String> changePassword(@RequestBody PasswordChangeDto dto) {
+        userService.changePassword(dto);
+        return ResponseEntity.ok("Password changed, please log in again");
+    }
+
+    @PostMapping("/logoutAll")
+    public ResponseEntity<String> logoutAll() {
+        userService.logoutAll();
+        return ResponseEntity.ok("Logged out of all sessions");
+    }
     
 }
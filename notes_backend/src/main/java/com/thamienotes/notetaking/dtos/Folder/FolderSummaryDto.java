@@ -0,0 +1,16 @@
+package com.thamienotes.notetaking.dtos.Folder;
+
+import java.util.List;
+
+import com.thamienotes.notetaking.dtos.Note.NoteSummaryDto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class FolderSummaryDto {
+    private String id;
+    private String title;
+    private List<NoteSummaryDto> notes;
+}
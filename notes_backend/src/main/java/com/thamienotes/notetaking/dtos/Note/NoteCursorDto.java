@@ -0,0 +1,13 @@
+package com.thamienotes.notetaking.dtos.Note;
+
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class NoteCursorDto {
+    private LocalDateTime updatedAt;
+    private String id;
+}
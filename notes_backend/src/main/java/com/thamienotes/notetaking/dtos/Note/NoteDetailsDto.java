@@ -13,4 +13,6 @@ public class NoteDetailsDto {
     private String content;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private String folderId;
+    private Long version;
 }
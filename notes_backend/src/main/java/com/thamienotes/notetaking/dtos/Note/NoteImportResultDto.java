@@ -0,0 +1,20 @@
+package com.thamienotes.notetaking.dtos.Note;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class NoteImportResultDto {
+    private int index;
+    private String id;
+    private String status;
+    private String error;
+
+    public NoteImportResultDto(int index, String id, String status, String error) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+}
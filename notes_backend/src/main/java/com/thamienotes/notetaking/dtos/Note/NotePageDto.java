@@ -0,0 +1,13 @@
+package com.thamienotes.notetaking.dtos.Note;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class NotePageDto {
+    private List<NoteSummaryDto> notes;
+    private String nextCursor;
+}
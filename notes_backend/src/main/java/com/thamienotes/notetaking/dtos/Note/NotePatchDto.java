@@ -0,0 +1,14 @@
+package com.thamienotes.notetaking.dtos.Note;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class NotePatchDto {
+    private Long baseVersion;
+    private String title;
+    private List<NoteTextEditDto> edits;
+}
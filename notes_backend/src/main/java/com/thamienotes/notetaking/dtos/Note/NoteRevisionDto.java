@@ -0,0 +1,16 @@
+package com.thamienotes.notetaking.dtos.Note;
+
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class NoteRevisionDto {
+    private String noteId;
+    private int revisionNo;
+    private String title;
+    private String content;
+    private LocalDateTime createdAt;
+}
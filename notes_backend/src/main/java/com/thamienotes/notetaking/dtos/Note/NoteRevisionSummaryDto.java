@@ -0,0 +1,19 @@
+package com.thamienotes.notetaking.dtos.Note;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteRevisionSummaryDto {
+    private int revisionNo;
+    private String title;
+    private int contentLength;
+    private LocalDateTime createdAt;
+}
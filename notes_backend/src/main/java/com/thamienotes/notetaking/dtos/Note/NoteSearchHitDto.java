@@ -0,0 +1,13 @@
+package com.thamienotes.notetaking.dtos.Note;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class NoteSearchHitDto {
+    private String id;
+    private String title;
+    private String snippet;
+    private float score;
+}
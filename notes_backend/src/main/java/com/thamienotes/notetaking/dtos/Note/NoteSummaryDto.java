@@ -0,0 +1,22 @@
+package com.thamienotes.notetaking.dtos.Note;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteSummaryDto {
+    private String id;
+    private String title;
+    private String preview;
+    private Integer contentLength;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private String folderId;
+}
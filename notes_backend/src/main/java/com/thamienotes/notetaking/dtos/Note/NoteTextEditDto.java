@@ -0,0 +1,12 @@
+package com.thamienotes.notetaking.dtos.Note;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class NoteTextEditDto {
+    private int offset;
+    private int deleteCount;
+    private String insert;
+}
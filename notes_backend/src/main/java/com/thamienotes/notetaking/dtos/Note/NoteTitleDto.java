@@ -0,0 +1,18 @@
+package com.thamienotes.notetaking.dtos.Note;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteTitleDto {
+    private String id;
+    private String title;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,15 @@
+package com.thamienotes.notetaking.dtos.Note;
+
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class NoteVersionDto {
+    private String id;
+    private long version;
+    private Integer contentLength;
+    private LocalDateTime updatedAt;
+}
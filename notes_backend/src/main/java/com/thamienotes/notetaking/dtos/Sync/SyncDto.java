@@ -0,0 +1,17 @@
+package com.thamienotes.notetaking.dtos.Sync;
+
+import java.util.List;
+
+import com.thamienotes.notetaking.dtos.Note.NoteDetailsDto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SyncDto {
+    private long cursor;
+    private List<NoteDetailsDto> notes;
+    private List<SyncFolderDto> folders;
+    private List<TombstoneDto> deleted;
+}
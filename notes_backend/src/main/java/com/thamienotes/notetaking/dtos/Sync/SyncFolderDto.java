@@ -0,0 +1,12 @@
+package com.thamienotes.notetaking.dtos.Sync;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SyncFolderDto {
+    private String id;
+    private String title;
+    private long changeSeq;
+}
@@ -0,0 +1,15 @@
+package com.thamienotes.notetaking.dtos.Sync;
+
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class TombstoneDto {
+    private String entityType;
+    private String entityId;
+    private long changeSeq;
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,11 @@
+package com.thamienotes.notetaking.dtos.User;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PasswordChangeDto {
+    private String currentPassword;
+    private String newPassword;
+}
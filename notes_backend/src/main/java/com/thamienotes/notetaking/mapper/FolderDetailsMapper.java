@@ -1,9 +1,13 @@
 package com.thamienotes.notetaking.mapper;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import com.thamienotes.notetaking.dtos.Folder.FolderDetailsDto;
+import com.thamienotes.notetaking.dtos.Folder.FolderSummaryDto;
+import com.thamienotes.notetaking.dtos.Note.NoteDetailsDto;
+import com.thamienotes.notetaking.dtos.Note.NoteSummaryDto;
 import com.thamienotes.notetaking.models.Folder;
 import com.thamienotes.notetaking.models.Notes;
 import com.thamienotes.notetaking.models.Users;
@@ -14,23 +18,29 @@ public class FolderDetailsMapper {
         folder.setId(dto.getId());
         folder.setTitle(dto.getTitle());
         folder.setUser(user);
-        List<Notes> notes = dto.getNotes()
+        List<Notes> notes = dto.getNotes() == null ? new ArrayList<>() : dto.getNotes()
                                 .stream()
                                 .map(noteDto -> NoteMapper.toEntity(noteDto, user))
                                 .collect(Collectors.toList());
+        notes.forEach(note -> note.setFolder(folder));
         folder.setNotes(notes);
         return folder;
     }
 
-    public static FolderDetailsDto toDto(Folder folder){
+    public static FolderDetailsDto toDto(Folder folder, List<NoteDetailsDto> notes){
         FolderDetailsDto dto = new FolderDetailsDto();
         dto.setId(folder.getId());
         dto.setTitle(folder.getTitle());
         dto.setUser(UserMapper.toDto(folder.getUser()));
-        dto.setNotes(folder.getNotes()
-                            .stream()
-                            .map(noteDto -> NoteMapper.toDto(noteDto))
-                            .collect(Collectors.toList()));
+        dto.setNotes(notes);
+        return dto;
+    }
+
+    public static FolderSummaryDto toSummaryDto(Folder folder, List<NoteSummaryDto> notes){
+        FolderSummaryDto dto = new FolderSummaryDto();
+        dto.setId(folder.getId());
+        dto.setTitle(folder.getTitle());
+        dto.setNotes(notes);
         return dto;
     }
 }
@@ -0,0 +1,37 @@
+package com.thamienotes.notetaking.mapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.thamienotes.notetaking.dtos.Note.NoteCursorDto;
+import com.thamienotes.notetaking.dtos.Note.NoteSummaryDto;
+
+public class NoteCursorMapper {
+    private static final String SEPARATOR = "|";
+
+    public static String toCursor(NoteSummaryDto note){
+        String raw = note.getUpdatedAt() + SEPARATOR + note.getId();
+        return Base64.getUrlEncoder()
+                    .withoutPadding()
+                    .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static NoteCursorDto toDto(String cursor){
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if(separator < 0){
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            NoteCursorDto dto = new NoteCursorDto();
+            dto.setUpdatedAt(LocalDateTime.parse(raw.substring(0, separator)));
+            dto.setId(UUID.fromString(raw.substring(separator + 1)).toString());
+            return dto;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.stream.Collectors;
 
 import com.thamienotes.notetaking.dtos.Note.NoteDetailsDto;
 import com.thamienotes.notetaking.dtos.Note.NoteFolderDto;
+import com.thamienotes.notetaking.dtos.Note.NoteVersionDto;
 import com.thamienotes.notetaking.models.Folder;
 import com.thamienotes.notetaking.models.Notes;
 import com.thamienotes.notetaking.models.Users;
@@ -25,6 +26,17 @@ public class NoteMapper {
         dto.setContent(notes.getContent());
         dto.setCreatedAt(notes.getCreatedAt());
         dto.setUpdatedAt(notes.getUpdatedAt());
+        dto.setFolderId(notes.getFolder() == null ? null : notes.getFolder().getId());
+        dto.setVersion(notes.getVersion());
+        return dto;
+    }
+
+    public static NoteVersionDto toVersionDto(Notes notes){
+        NoteVersionDto dto = new NoteVersionDto();
+        dto.setId(notes.getId());
+        dto.setVersion(notes.getVersion());
+        dto.setContentLength(notes.getContentLength());
+        dto.setUpdatedAt(notes.getUpdatedAt());
         return dto;
     }
 
@@ -0,0 +1,25 @@
+package com.thamienotes.notetaking.mapper;
+
+import com.thamienotes.notetaking.dtos.Sync.SyncFolderDto;
+import com.thamienotes.notetaking.dtos.Sync.TombstoneDto;
+import com.thamienotes.notetaking.models.Folder;
+import com.thamienotes.notetaking.models.Tombstone;
+
+public class SyncMapper {
+    public static SyncFolderDto toFolderDto(Folder folder){
+        SyncFolderDto dto = new SyncFolderDto();
+        dto.setId(folder.getId());
+        dto.setTitle(folder.getTitle());
+        dto.setChangeSeq(folder.getChangeSeq());
+        return dto;
+    }
+
+    public static TombstoneDto toTombstoneDto(Tombstone tombstone){
+        TombstoneDto dto = new TombstoneDto();
+        dto.setEntityType(tombstone.getEntityType());
+        dto.setEntityId(tombstone.getEntityId());
+        dto.setChangeSeq(tombstone.getChangeSeq());
+        dto.setDeletedAt(tombstone.getDeletedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,98 @@
+package com.thamienotes.notetaking.models;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.jdbc.JdbcType;
+import org.hibernate.usertype.UserType;
+
+public class BinaryUuidType implements UserType<String> {
+    public static final int LENGTH = 16;
+
+    public static byte[] toBytes(String uuid) {
+        UUID parsed = UUID.fromString(uuid);
+        return ByteBuffer.allocate(LENGTH)
+                .putLong(parsed.getMostSignificantBits())
+                .putLong(parsed.getLeastSignificantBits())
+                .array();
+    }
+
+    public static String toString(byte[] bytes) {
+        if (bytes.length != LENGTH) {
+            throw new IllegalArgumentException("Expected " + LENGTH + " bytes but got " + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+
+    @Override
+    public int getSqlType() {
+        return SqlTypes.BINARY;
+    }
+
+    @Override
+    public long getDefaultSqlLength(Dialect dialect, JdbcType jdbcType) {
+        return LENGTH;
+    }
+
+    @Override
+    public Class<String> returnedClass() {
+        return String.class;
+    }
+
+    @Override
+    public boolean equals(String x, String y) {
+        return Objects.equals(x, y);
+    }
+
+    @Override
+    public int hashCode(String x) {
+        return Objects.hashCode(x);
+    }
+
+    @Override
+    public String nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session, Object owner)
+            throws SQLException {
+        byte[] bytes = rs.getBytes(position);
+        return bytes == null ? null : toString(bytes);
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, String value, int index, SharedSessionContractImplementor session)
+            throws SQLException {
+        if (value == null) {
+            st.setNull(index, Types.BINARY);
+        } else {
+            st.setBytes(index, toBytes(value));
+        }
+    }
+
+    @Override
+    public String deepCopy(String value) {
+        return value;
+    }
+
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+
+    @Override
+    public Serializable disassemble(String value) {
+        return value;
+    }
+
+    @Override
+    public String assemble(Serializable cached, Object owner) {
+        return (String) cached;
+    }
+}
@@ -0,0 +1,95 @@
+package com.thamienotes.notetaking.models;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+    public static final byte FORMAT_RAW = 0;
+    public static final byte FORMAT_DEFLATE = 1;
+    public static final int COMPRESSION_THRESHOLD = 1024;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= COMPRESSION_THRESHOLD) {
+            byte[] deflated = deflate(utf8);
+            if (deflated.length < utf8.length) {
+                return withHeader(FORMAT_DEFLATE, deflated);
+            }
+        }
+        return withHeader(FORMAT_RAW, utf8);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length == 0) {
+            return "";
+        }
+        byte[] payload = Arrays.copyOfRange(data, 1, data.length);
+        return switch (data[0]) {
+            case FORMAT_RAW -> new String(payload, StandardCharsets.UTF_8);
+            case FORMAT_DEFLATE -> new String(inflate(payload), StandardCharsets.UTF_8);
+            default -> throw new IllegalStateException("Unknown note body format " + data[0]);
+        };
+    }
+
+    private static byte[] withHeader(byte format, byte[] payload) {
+        byte[] data = new byte[payload.length + 1];
+        data[0] = format;
+        System.arraycopy(payload, 0, data, 1, payload.length);
+        return data;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 4);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated note body");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt note body", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
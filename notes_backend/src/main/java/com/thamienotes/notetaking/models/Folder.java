@@ -2,11 +2,15 @@ package com.thamienotes.notetaking.models;
 
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Type;
+
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -14,18 +18,25 @@ import jakarta.persistence.Table;
 import lombok.Data;
 
 @Entity
-@Table(name="folder")
+@Table(name="folder", indexes = {
+    @Index(name="idx_folder_user_change_seq", columnList="user_id, change_seq"),
+    @Index(name="idx_folder_user_title", columnList="user_id, title")
+})
 @Data
 public class Folder {
     @Id
-    @GeneratedValue(strategy=GenerationType.UUID)
+    @TimeOrderedId
+    @Type(BinaryUuidType.class)
     private String id;
     private String title;
+    @Column(name="change_seq")
+    private long changeSeq;
 
     @OneToMany(mappedBy="folder", cascade=CascadeType.ALL, orphanRemoval=true)
+    @BatchSize(size=100)
     private List<Notes> notes;
 
-    @ManyToOne
+    @ManyToOne(fetch=FetchType.LAZY)
     @JoinColumn(name="user_id", nullable=false)
     private Users user;
 
@@ -0,0 +1,37 @@
+package com.thamienotes.notetaking.models;
+
+import org.hibernate.annotations.Type;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Entity
+@Table(name="note_body")
+@Data
+public class NoteBody {
+    @Id
+    @TimeOrderedId
+    @Type(BinaryUuidType.class)
+    private String id;
+    @Lob
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name="data", columnDefinition = "MEDIUMBLOB")
+    private String content;
+    @Lob
+    @Column(name="content", columnDefinition = "MEDIUMTEXT")
+    private String legacyContent;
+
+    public String getContent() {
+        return content != null ? content : legacyContent;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+        this.legacyContent = null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.thamienotes.notetaking.models;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Type;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+@Entity
+@Table(name="note_revision",
+    uniqueConstraints = @UniqueConstraint(name="uk_note_revision_note_no", columnNames={"note_id", "revision_no"}),
+    indexes = @Index(name="idx_note_revision_created", columnList="created_at")
+)
+@Data
+public class NoteRevision {
+    public static final String SNAPSHOT = "SNAPSHOT";
+    public static final String DELTA = "DELTA";
+
+    @Id
+    @TimeOrderedId
+    @Type(BinaryUuidType.class)
+    private String id;
+    @Type(BinaryUuidType.class)
+    @Column(name="note_id", nullable=false)
+    private String noteId;
+    @Column(name="revision_no", nullable=false)
+    private int revisionNo;
+    @Column(name="snapshot_no", nullable=false)
+    private int snapshotNo;
+    @Column(nullable=false)
+    private int depth;
+    @Column(nullable=false)
+    private String kind;
+    private String title;
+    @Column(name="prefix_length")
+    private int prefixLength;
+    @Column(name="suffix_length")
+    private int suffixLength;
+    @Lob
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private String payload;
+    @Column(name="content_length")
+    private int contentLength;
+    @CreationTimestamp
+    @Column(name="created_at", updatable=false)
+    private LocalDateTime createdAt;
+
+    public String applyTo(String previous) {
+        if (SNAPSHOT.equals(kind)) {
+            return payload == null ? "" : payload;
+        }
+        String base = previous == null ? "" : previous;
+        return base.substring(0, prefixLength) + (payload == null ? "" : payload)
+                + base.substring(base.length() - suffixLength);
+    }
+}
@@ -3,42 +3,95 @@ package com.thamienotes.notetaking.models;
 import java.time.LocalDateTime;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Type;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Entity
-@Table(name="notes")
+@Table(name="notes", indexes = {
+    @Index(name="idx_notes_user_updated", columnList="user_id, updated_at, id"),
+    @Index(name="idx_notes_user_change_seq", columnList="user_id, change_seq"),
+    @Index(name="idx_notes_folder_user", columnList="folder_id, user_id"),
+    @Index(name="idx_notes_updated", columnList="updated_at")
+})
 @Data
 public class Notes {
+    public static final int PREVIEW_LENGTH = 200;
+
     @Id
-    @GeneratedValue(strategy=GenerationType.UUID)
+    @TimeOrderedId
+    @Type(BinaryUuidType.class)
     private String id;
     private String title;
-    @Lob
-    @Column(columnDefinition = "MEDIUMTEXT")
-    private String content;
+    @OneToOne(fetch=FetchType.LAZY, cascade=CascadeType.ALL, orphanRemoval=true)
+    @JoinColumn(name="body_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private NoteBody body;
+    @Column(length = PREVIEW_LENGTH)
+    private String preview;
+    @Column(name="content_length")
+    private Integer contentLength;
     @CreationTimestamp
     @Column(name="created_at",  updatable=false)
     private LocalDateTime createdAt;
     @UpdateTimestamp
     @Column(name="updated_at")
     private LocalDateTime updatedAt;
+    @Column(name="change_seq")
+    private long changeSeq;
+    @Version
+    @Column(nullable=false)
+    private long version;
 
-    @ManyToOne
+    @ManyToOne(fetch=FetchType.LAZY)
     @JoinColumn(name="user_id", nullable=false)
     private Users user;
 
-    @ManyToOne
+    @ManyToOne(fetch=FetchType.LAZY)
     @JoinColumn(name="folder_id", nullable=true)
     private Folder folder;
+
+    public String getContent() {
+        return body == null ? null : body.getContent();
+    }
+
+    public void setContent(String content) {
+        if (body == null) {
+            body = new NoteBody();
+        }
+        body.setContent(content);
+        this.preview = previewOf(content);
+        this.contentLength = content == null ? 0 : content.length();
+    }
+
+    public static String previewOf(String content) {
+        if (content == null) {
+            return "";
+        }
+        String head = content.length() > PREVIEW_LENGTH * 4 ? content.substring(0, PREVIEW_LENGTH * 4) : content;
+        String collapsed = head.strip().replaceAll("\\s+", " ");
+        if (collapsed.length() <= PREVIEW_LENGTH) {
+            return collapsed;
+        }
+        int end = PREVIEW_LENGTH;
+        if (Character.isHighSurrogate(collapsed.charAt(end - 1))) {
+            end--;
+        }
+        return collapsed.substring(0, end);
+    }
 }
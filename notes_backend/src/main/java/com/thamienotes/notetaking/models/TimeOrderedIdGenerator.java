@@ -0,0 +1,43 @@
+package com.thamienotes.notetaking.models;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+public class TimeOrderedIdGenerator implements BeforeExecutionGenerator {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    public static String next() {
+        return nextUuid(System.currentTimeMillis()).toString();
+    }
+
+    static UUID nextUuid(long epochMillis) {
+        byte[] random = new byte[10];
+        RANDOM.nextBytes(random);
+
+        long mostSignificant = (epochMillis & 0xFFFF_FFFF_FFFFL) << 16
+                | 0x7000L
+                | ((random[0] & 0x0FL) << 8) | (random[1] & 0xFFL);
+
+        long leastSignificant = 0x8000_0000_0000_0000L | ((random[2] & 0x3FL) << 56);
+        for (int i = 3; i < 10; i++) {
+            leastSignificant |= (random[i] & 0xFFL) << (8 * (9 - i));
+        }
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,42 @@
+package com.thamienotes.notetaking.models;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Type;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Entity
+@Table(name="tombstone", indexes = {
+    @Index(name="idx_tombstone_user_change_seq", columnList="user_id, change_seq"),
+    @Index(name="idx_tombstone_type_deleted", columnList="entity_type, deleted_at")
+})
+@Data
+public class Tombstone {
+    public static final String NOTE = "NOTE";
+    public static final String FOLDER = "FOLDER";
+
+    @Id
+    @TimeOrderedId
+    @Type(BinaryUuidType.class)
+    private String id;
+    @Type(BinaryUuidType.class)
+    @Column(name="user_id", nullable=false)
+    private String userId;
+    @Column(name="entity_type", nullable=false)
+    private String entityType;
+    @Type(BinaryUuidType.class)
+    @Column(name="entity_id", nullable=false)
+    private String entityId;
+    @Column(name="change_seq")
+    private long changeSeq;
+    @CreationTimestamp
+    @Column(name="deleted_at", updatable=false)
+    private LocalDateTime deletedAt;
+}
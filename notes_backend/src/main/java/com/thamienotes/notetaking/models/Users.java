@@ -2,21 +2,24 @@ package com.thamienotes.notetaking.models;
 
 import java.util.List;
 
+import org.hibernate.annotations.Type;
+
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Data;
 
 @Entity
-@Table(name="user")
+@Table(name="user", uniqueConstraints = @UniqueConstraint(name="uk_user_username", columnNames="username"))
 @Data
 public class Users {
     @Id
-    @GeneratedValue(strategy=GenerationType.UUID)
+    @TimeOrderedId
+    @Type(BinaryUuidType.class)
     private String id;
     private String first_name;
     private String last_name;
@@ -24,6 +27,10 @@ public class Users {
     private String password;
     private String email;
     private String role;
+    @Column(name="token_version")
+    private int tokenVersion;
+    @Column(name="change_seq")
+    private long changeSeq;
 
     @OneToMany(mappedBy="user", cascade=CascadeType.ALL, orphanRemoval=true)
     private List<Notes> notes;
@@ -3,9 +3,24 @@ package com.thamienotes.notetaking.repositories;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.thamienotes.notetaking.models.Folder;
 
 public interface FolderRepo extends JpaRepository<Folder, String> {
-    List<Folder> findByUserUsername(String username);
+    List<Folder> findByUserIdOrderByTitle(String userId);
+
+    @Query("select f from Folder f join fetch f.user where f.user.id = :userId order by f.title")
+    List<Folder> findWithUserByUserId(@Param("userId") String userId);
+
+    boolean existsByIdAndUserId(String id, String userId);
+
+    @Query("select f from Folder f where f.user.id = :userId and f.changeSeq > :since and f.changeSeq <= :upTo")
+    List<Folder> findChanged(@Param("userId") String userId, @Param("since") long since, @Param("upTo") long upTo);
+
+    @Modifying
+    @Query("delete from Folder f where f.id = :id and f.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") String id, @Param("userId") String userId);
 }
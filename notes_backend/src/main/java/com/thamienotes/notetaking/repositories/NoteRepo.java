@@ -1,11 +1,97 @@
 package com.thamienotes.notetaking.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.thamienotes.notetaking.dtos.Note.NoteSummaryDto;
+import com.thamienotes.notetaking.dtos.Note.NoteTitleDto;
+import com.thamienotes.notetaking.models.Folder;
 import com.thamienotes.notetaking.models.Notes;
 
+import jakarta.persistence.QueryHint;
+
 public interface NoteRepo extends JpaRepository<Notes, String> {
-    List<Notes> findByUserUsername(String username);
+    String STREAMING_FETCH_SIZE = "500";
+    String SUMMARY_SELECT = "select new com.thamienotes.notetaking.dtos.Note.NoteSummaryDto("
+            + "n.id, n.title, n.preview, n.contentLength, n.createdAt, n.updatedAt, n.folder.id) from Notes n";
+
+    @Query("select n from Notes n left join fetch n.body where n.user.id = :userId")
+    List<Notes> findWithBodyByUserId(@Param("userId") String userId);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select n from Notes n left join fetch n.body where n.user.id = :userId order by n.updatedAt, n.id")
+    Stream<Notes> streamWithBodyByUserId(@Param("userId") String userId);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select n from Notes n left join fetch n.body where n.updatedAt >= :since")
+    Stream<Notes> streamWithBodyUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Query(SUMMARY_SELECT + " where n.user.id = :userId order by n.updatedAt desc, n.id desc")
+    List<NoteSummaryDto> findFirstSummaryPageByUserId(@Param("userId") String userId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " where n.user.id = :userId"
+            + " and (n.updatedAt < :updatedAt or (n.updatedAt = :updatedAt and n.id < :id))"
+            + " order by n.updatedAt desc, n.id desc")
+    List<NoteSummaryDto> findSummaryPageAfterByUserId(@Param("userId") String userId,
+                                                      @Param("updatedAt") LocalDateTime updatedAt,
+                                                      @Param("id") String id,
+                                                      Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " where n.user.id = :userId and n.folder is not null"
+            + " order by n.updatedAt desc, n.id desc")
+    List<NoteSummaryDto> findFolderedSummariesByUserId(@Param("userId") String userId);
+
+    @Query("select n from Notes n left join fetch n.body where n.user.id = :userId and n.folder is not null")
+    List<Notes> findFolderedWithBodyByUserId(@Param("userId") String userId);
+
+    @Query("select new com.thamienotes.notetaking.dtos.Note.NoteTitleDto(n.id, n.title, n.updatedAt)"
+            + " from Notes n where n.user.id = :userId")
+    List<NoteTitleDto> findTitlesByUserId(@Param("userId") String userId);
+
+    @Query("select n from Notes n left join fetch n.body where n.user.id = :userId"
+            + " and n.changeSeq > :since and n.changeSeq <= :upTo")
+    List<Notes> findChangedWithBody(@Param("userId") String userId, @Param("since") long since, @Param("upTo") long upTo);
+
+    Optional<Notes> findByIdAndUserId(String id, String userId);
+
+    boolean existsByIdAndUserId(String id, String userId);
+
+    @Query("select n from Notes n left join fetch n.body where n.id in :ids and n.user.id = :userId")
+    List<Notes> findWithBodyByIdInAndUserId(@Param("ids") Collection<String> ids, @Param("userId") String userId);
+
+    @Modifying
+    @Query("update Notes n set n.folder = :folder, n.updatedAt = :now, n.changeSeq = :changeSeq"
+            + ", n.version = n.version + 1 where n.id in :ids and n.user.id = :userId")
+    int moveToFolder(@Param("folder") Folder folder,
+                     @Param("ids") Collection<String> ids,
+                     @Param("userId") String userId,
+                     @Param("now") LocalDateTime now,
+                     @Param("changeSeq") long changeSeq);
+
+    @Modifying
+    @Query("update Notes n set n.folder = null, n.updatedAt = :now, n.changeSeq = :changeSeq"
+            + ", n.version = n.version + 1 where n.folder.id = :folderId and n.user.id = :userId")
+    int removeFromFolder(@Param("folderId") String folderId,
+                         @Param("userId") String userId,
+                         @Param("now") LocalDateTime now,
+                         @Param("changeSeq") long changeSeq);
 }
@@ -0,0 +1,39 @@
+package com.thamienotes.notetaking.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.thamienotes.notetaking.dtos.Note.NoteRevisionSummaryDto;
+import com.thamienotes.notetaking.models.NoteRevision;
+
+public interface NoteRevisionRepo extends JpaRepository<NoteRevision, String> {
+    Optional<NoteRevision> findFirstByNoteIdOrderByRevisionNoDesc(String noteId);
+
+    Optional<NoteRevision> findByNoteIdAndRevisionNo(String noteId, int revisionNo);
+
+    @Query("select r from NoteRevision r where r.noteId = :noteId"
+            + " and r.revisionNo between :from and :to order by r.revisionNo")
+    List<NoteRevision> findChain(@Param("noteId") String noteId, @Param("from") int from, @Param("to") int to);
+
+    List<NoteRevision> findByNoteIdOrderByRevisionNo(String noteId);
+
+    @Query("select new com.thamienotes.notetaking.dtos.Note.NoteRevisionSummaryDto("
+            + "r.revisionNo, r.title, r.contentLength, r.createdAt) from NoteRevision r"
+            + " where r.noteId = :noteId order by r.revisionNo desc")
+    List<NoteRevisionSummaryDto> findSummariesByNoteId(@Param("noteId") String noteId);
+
+    @Query(value = "select distinct note_id from note_revision where created_at < :cutoff"
+            + " group by note_id, cast(created_at as date) having count(*) > 1", nativeQuery = true)
+    List<byte[]> findCompactableNoteIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("delete from NoteRevision r where r.noteId = :noteId")
+    int deleteByNoteId(@Param("noteId") String noteId);
+}
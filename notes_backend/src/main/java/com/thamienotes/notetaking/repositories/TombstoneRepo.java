@@ -0,0 +1,17 @@
+package com.thamienotes.notetaking.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.thamienotes.notetaking.models.Tombstone;
+
+public interface TombstoneRepo extends JpaRepository<Tombstone, String> {
+    @Query("select t from Tombstone t where t.userId = :userId and t.changeSeq > :since and t.changeSeq <= :upTo")
+    List<Tombstone> findChanged(@Param("userId") String userId, @Param("since") long since, @Param("upTo") long upTo);
+
+    List<Tombstone> findByEntityTypeAndDeletedAtGreaterThanEqual(String entityType, LocalDateTime deletedAt);
+}
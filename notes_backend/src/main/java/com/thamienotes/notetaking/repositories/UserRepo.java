@@ -3,10 +3,31 @@ package com.thamienotes.notetaking.repositories;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.thamienotes.notetaking.models.Users;
 
 
 public interface  UserRepo extends JpaRepository<Users, String> {
     Optional<Users> findByUsername(String username);
+
+    @Query("select u.tokenVersion from Users u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") String id);
+
+    @Modifying
+    @Query("update Users u set u.tokenVersion = u.tokenVersion + 1 where u.id = :id")
+    int incrementTokenVersion(@Param("id") String id);
+
+    @Modifying
+    @Query("update Users u set u.password = :newHash where u.id = :id and u.password = :oldHash")
+    int replacePasswordHash(@Param("id") String id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    @Query("select u.changeSeq from Users u where u.id = :id")
+    Optional<Long> findChangeSeqById(@Param("id") String id);
+
+    @Modifying
+    @Query("update Users u set u.changeSeq = u.changeSeq + :count where u.id = :id")
+    int advanceChangeSeq(@Param("id") String id, @Param("count") long count);
 }
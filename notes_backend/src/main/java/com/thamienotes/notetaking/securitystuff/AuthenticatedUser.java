@@ -0,0 +1,23 @@
+package com.thamienotes.notetaking.securitystuff;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import lombok.Getter;
+
+@Getter
+public class AuthenticatedUser implements AuthenticatedPrincipal {
+    private final String id;
+    private final String username;
+    private final String role;
+
+    public AuthenticatedUser(String id, String username, String role) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
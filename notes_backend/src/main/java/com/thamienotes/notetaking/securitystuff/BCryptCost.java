@@ -0,0 +1,32 @@
+package com.thamienotes.notetaking.securitystuff;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+public class BCryptCost {
+    private static final Logger log = LoggerFactory.getLogger(BCryptCost.class);
+    private static final int MAX_COST = 16;
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    public static int calibrate(long targetMillis, int minCost){
+        int cost = minCost;
+        while (cost < MAX_COST) {
+            long millis = timeHash(cost + 1);
+            if (millis > targetMillis) {
+                break;
+            }
+            cost++;
+        }
+        log.info("BCrypt cost calibrated to {} for a {} ms target", cost, targetMillis);
+        return cost;
+    }
+
+    private static long timeHash(int cost){
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        encoder.encode(SAMPLE_PASSWORD);
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
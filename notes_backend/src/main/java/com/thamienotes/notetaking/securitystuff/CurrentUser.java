@@ -0,0 +1,39 @@
+package com.thamienotes.notetaking.securitystuff;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import com.thamienotes.notetaking.models.Users;
+import com.thamienotes.notetaking.repositories.UserRepo;
+import com.thamienotes.notetaking.services.UserLookupService;
+
+@Component
+public class CurrentUser {
+    @Autowired UserRepo userRepo;
+    @Autowired UserLookupService userLookupService;
+
+    public String getUsername(){
+        return authentication().getName();
+    }
+
+    public String getId(){
+        Authentication auth = authentication();
+        if(auth.getPrincipal() instanceof AuthenticatedUser user){
+            return user.getId();
+        }
+        return userLookupService.findByUsername(auth.getName())
+                        .map(Users::getId)
+                        .orElseThrow(() -> new UsernameNotFoundException("Username not found"));
+    }
+
+    public Users getReference(){
+        return userRepo.getReferenceById(getId());
+    }
+
+    private Authentication authentication(){
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
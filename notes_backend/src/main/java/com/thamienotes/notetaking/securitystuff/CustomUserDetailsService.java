@@ -12,14 +12,14 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import com.thamienotes.notetaking.models.Users;
-import com.thamienotes.notetaking.repositories.UserRepo;
+import com.thamienotes.notetaking.services.UserLookupService;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
-    @Autowired UserRepo userRepo;
+    @Autowired UserLookupService userLookupService;
 
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException{
-        Users user = userRepo.findByUsername(username)
+        Users user = userLookupService.findByUsername(username)
                     .orElseThrow(() -> new UsernameNotFoundException(username));
         
         List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole()));
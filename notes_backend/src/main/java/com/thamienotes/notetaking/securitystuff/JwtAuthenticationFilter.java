@@ -1,16 +1,21 @@
 package com.thamienotes.notetaking.securitystuff;
 
 import java.io.IOException;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,6 +27,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter{
 
     @Autowired JwtUtil jwtUtil;
     @Autowired UserDetailsService userDetailsService;
+    @Autowired VerifiedTokenCache verifiedTokenCache;
+    @Autowired TokenEpochCache tokenEpochCache;
+    @Value("${jwt.stateless:true}") boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -31,14 +39,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter{
         
         if(authHeader != null && authHeader.startsWith("Bearer")){
             String jwt = authHeader.substring(7);
-            String username = jwtUtil.extractUsername(jwt);
-
-            if(username != null && SecurityContextHolder.getContext().getAuthentication() == null){
-                UserDetails userDetails =  userDetailsService.loadUserByUsername(username);
-                if(jwtUtil.isTokenValid(jwt, userDetails)){
-                
-                    UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken
-                                                                                (userDetails, null, userDetails.getAuthorities());
+            VerifiedToken verified = resolveToken(jwt);
+
+            if(verified != null && verified.getSubject() != null && SecurityContextHolder.getContext().getAuthentication() == null){
+                UsernamePasswordAuthenticationToken authenticationToken = stateless && verified.isStateless()
+                                                                            ? fromClaims(verified)
+                                                                            : fromUserDetails(verified);
+                if(authenticationToken != null){
                     SecurityContextHolder.getContext().setAuthentication(authenticationToken);
                 }
             }
@@ -47,5 +54,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter{
 
         
     }
+
+    private UsernamePasswordAuthenticationToken fromClaims(VerifiedToken verified){
+        if(!tokenEpochCache.isCurrent(verified.getUserId(), verified.getTokenVersion())){
+            return null;
+        }
+        AuthenticatedUser principal = new AuthenticatedUser(verified.getUserId(), verified.getSubject(), verified.getRole());
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(verified.getRole()));
+        return new UsernamePasswordAuthenticationToken(principal, null, authorities);
+    }
+
+    private UsernamePasswordAuthenticationToken fromUserDetails(VerifiedToken verified){
+        if(verified.getUserId() != null && verified.getTokenVersion() != null
+                && !tokenEpochCache.isCurrent(verified.getUserId(), verified.getTokenVersion())){
+            return null;
+        }
+        UserDetails userDetails =  userDetailsService.loadUserByUsername(verified.getSubject());
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    private VerifiedToken resolveToken(String jwt){
+        VerifiedToken verified = verifiedTokenCache.get(jwt);
+        if(verified != null){
+            return verified;
+        }
+        try {
+            verified = jwtUtil.verify(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        verifiedTokenCache.put(jwt, verified);
+        return verified;
+    }
     
 }
@@ -1,4 +1,5 @@
 package com.thamienotes.notetaking.securitystuff;
+import java.time.Instant;
 import java.util.Date;
 
 import javax.crypto.SecretKey;
@@ -18,27 +19,41 @@ import io.jsonwebtoken.security.Keys;
 public class JwtUtil {
     private final int expirationMs = 86400000;
     private final SecretKey key;
+    private final JwtParser parser;
 
     public JwtUtil(@Value("${jwt.secret}") String secret) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parser()
+                        .verifyWith(key)
+                        .build();
     }
 
     public String generateToken(Users user){
         return Jwts.builder()
                 .subject(user.getUsername())
+                .claim("UID", user.getId())
                 .claim("ROLE", "ROLE_" + user.getRole())
+                .claim("EPOCH", user.getTokenVersion())
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expirationMs))
                 .signWith(key)
                 .compact();
     }
     public Claims getClaims(String token){
-        JwtParser parser = Jwts.parser()
-                            .verifyWith(key)
-                            .build();
         return parser.parseSignedClaims(token).getPayload();
     }
 
+    public VerifiedToken verify(String token){
+        Claims claims = getClaims(token);
+        return new VerifiedToken(
+            claims.getSubject(),
+            claims.get("UID", String.class),
+            claims.get("ROLE", String.class),
+            claims.get("EPOCH", Integer.class),
+            claims.getExpiration().toInstant()
+        );
+    }
+
     public String extractUsername(String token){
         return getClaims(token).getSubject();
     }
@@ -48,8 +63,8 @@ public class JwtUtil {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails){
-        String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+        VerifiedToken verified = verify(token);
+        return verified.getSubject().equals(userDetails.getUsername()) && !verified.isExpired(Instant.now());
     }
 
 
@@ -0,0 +1,40 @@
+package com.thamienotes.notetaking.securitystuff;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thamienotes.notetaking.repositories.UserRepo;
+
+@Component
+public class TokenEpochCache {
+    @Autowired UserRepo userRepo;
+
+    private final Cache<String, Optional<Integer>> epochs;
+
+    public TokenEpochCache(@Value("${jwt.epoch.ttl-seconds:30}") long ttlSeconds,
+                           @Value("${jwt.epoch.max-entries:50000}") long maxEntries) {
+        this.epochs = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public boolean isCurrent(String userId, int tokenVersion) {
+        Optional<Integer> epoch = epochs.getIfPresent(userId);
+        if (epoch == null) {
+            epoch = userRepo.findTokenVersionById(userId);
+            epochs.put(userId, epoch);
+        }
+        return epoch.isPresent() && epoch.get() == tokenVersion;
+    }
+
+    public void invalidate(String userId) {
+        epochs.invalidate(userId);
+    }
+}
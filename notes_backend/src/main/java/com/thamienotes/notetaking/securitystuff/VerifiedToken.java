@@ -0,0 +1,30 @@
+package com.thamienotes.notetaking.securitystuff;
+
+import java.time.Instant;
+
+import lombok.Getter;
+
+@Getter
+public class VerifiedToken {
+    private final String subject;
+    private final String userId;
+    private final String role;
+    private final Integer tokenVersion;
+    private final Instant expiresAt;
+
+    public VerifiedToken(String subject, String userId, String role, Integer tokenVersion, Instant expiresAt) {
+        this.subject = subject;
+        this.userId = userId;
+        this.role = role;
+        this.tokenVersion = tokenVersion;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isStateless() {
+        return userId != null && role != null && tokenVersion != null;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
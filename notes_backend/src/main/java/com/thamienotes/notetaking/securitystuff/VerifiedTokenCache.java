@@ -0,0 +1,59 @@
+package com.thamienotes.notetaking.securitystuff;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+@Component
+public class VerifiedTokenCache {
+    private final Cache<String, VerifiedToken> tokens;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-entries:10000}") int maxEntries) {
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+
+    public VerifiedToken get(String token) {
+        VerifiedToken verified = tokens.getIfPresent(token);
+        if (verified != null && verified.isExpired(Instant.now())) {
+            tokens.asMap().remove(token, verified);
+            return null;
+        }
+        return verified;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (!verified.isExpired(Instant.now())) {
+            tokens.put(token, verified);
+        }
+    }
+
+    public void invalidate(String token) {
+        tokens.invalidate(token);
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), verified.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, verified, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
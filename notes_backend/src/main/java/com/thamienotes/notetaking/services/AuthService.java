@@ -1,30 +1,41 @@
 package com.thamienotes.notetaking.services;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.stereotype.Service;
 
 import com.thamienotes.notetaking.dtos.Auth.AuthDto;
 import com.thamienotes.notetaking.dtos.Auth.LoginResponseDto;
 import com.thamienotes.notetaking.models.Users;
-import com.thamienotes.notetaking.repositories.UserRepo;
 import com.thamienotes.notetaking.securitystuff.JwtUtil;
+import com.thamienotes.notetaking.securitystuff.PasswordHasher;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Service
 public class AuthService {
-    @Autowired UserRepo userRepo;
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
+    @Autowired UserLookupService userLookupService;
     @Autowired JwtUtil jwtUtil;
-    @Autowired PasswordEncoder passwordEncoder;
+    @Autowired PasswordHasher passwordHasher;
+    @Autowired UserService userService;
+    @Autowired MeterRegistry meterRegistry;
 
     public LoginResponseDto authLogin(AuthDto dto){
-        Users user = userRepo.findByUsername(dto.getUsername())
+        Users user = userLookupService.findByUsername(dto.getUsername())
                                 .orElseThrow(() -> new UsernameNotFoundException("Username not found"));
 
-        if(!passwordEncoder.matches(dto.getPassword(), user.getPassword())){
+        if(!passwordHasher.matches(dto.getPassword(), user.getPassword())){
             throw new BadCredentialsException("Password incorrect");
         }
+        if(passwordHasher.needsRehash(user.getPassword())){
+            rehash(user, dto.getPassword());
+        }
         String jwt = jwtUtil.generateToken(user);
         return new LoginResponseDto(
             user.getUsername(),
@@ -36,4 +47,13 @@ public class AuthService {
 
         );
     }
+
+    private void rehash(Users user, String rawPassword){
+        try {
+            userService.replacePasswordHash(user, passwordHasher.encode(rawPassword));
+        } catch (ResponseStatusException e) {
+            meterRegistry.counter("auth.rehash.deferred").increment();
+            log.debug("Deferred password hash upgrade for user {}: {}", user.getId(), e.getReason());
+        }
+    }
 }
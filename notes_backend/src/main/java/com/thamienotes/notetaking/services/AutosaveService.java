@@ -0,0 +1,194 @@
+package com.thamienotes.notetaking.services;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.thamienotes.notetaking.dtos.Note.NoteDetailsDto;
+import com.thamienotes.notetaking.dtos.Note.NoteSummaryDto;
+import com.thamienotes.notetaking.models.Notes;
+import com.thamienotes.notetaking.repositories.NoteRepo;
+import com.thamienotes.notetaking.securitystuff.CurrentUser;
+
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class AutosaveService {
+    private static final Logger log = LoggerFactory.getLogger(AutosaveService.class);
+
+    @Autowired NoteRepo noteRepo;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired ChangeSequenceService changeSequenceService;
+    @Autowired NoteSearchService noteSearchService;
+    @Autowired TitleSuggestService titleSuggestService;
+    @Autowired CurrentUser currentUser;
+    @Autowired NoteRevisionService noteRevisionService;
+
+    @Value("${notes.autosave.idle-ms:2000}") long idleMillis;
+    @Value("${notes.autosave.max-delay-ms:10000}") long maxDelayMillis;
+    @Value("${notes.autosave.max-pending:10000}") int maxPending;
+
+    private final Map<String, PendingEdit> pending = new ConcurrentHashMap<>();
+    private final Map<String, PendingVersion> pendingVersions = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public boolean enqueue(String userId, String noteId, NoteDetailsDto dto){
+        long now = System.currentTimeMillis();
+        PendingEdit previous = pending.get(noteId);
+        if (previous == null) {
+            if (pending.size() >= maxPending) {
+                return false;
+            }
+            if (!noteRepo.existsByIdAndUserId(noteId, userId)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Note not found");
+            }
+        } else if (!previous.userId().equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Note not found");
+        }
+
+        long editSequence = sequence.incrementAndGet();
+        pending.compute(noteId, (id, old) -> {
+            pendingVersions.merge(userId, new PendingVersion(old == null ? 1 : 0, editSequence), PendingVersion::plus);
+            long firstEditAt = old == null ? now : old.firstEditAt();
+            return new PendingEdit(userId, dto.getTitle(), dto.getContent(), firstEditAt, now, editSequence);
+        });
+        return true;
+    }
+
+    public void discard(String noteId){
+        PendingEdit edit = pending.remove(noteId);
+        if (edit != null) {
+            released(edit.userId());
+        }
+    }
+
+    public boolean hasPending(String noteId){
+        return pending.containsKey(noteId);
+    }
+
+    public long pendingVersion(String userId){
+        PendingVersion version = pendingVersions.get(userId);
+        return version == null ? 0 : version.sequence();
+    }
+
+    public void overlay(NoteDetailsDto dto){
+        PendingEdit edit = pending.get(dto.getId());
+        if (edit != null) {
+            dto.setTitle(edit.title());
+            dto.setContent(edit.content());
+        }
+    }
+
+    public void overlay(NoteSummaryDto dto){
+        PendingEdit edit = pending.get(dto.getId());
+        if (edit != null) {
+            dto.setTitle(edit.title());
+            dto.setPreview(Notes.previewOf(edit.content()));
+            dto.setContentLength(edit.content() == null ? 0 : edit.content().length());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notes.autosave.flush-interval-ms:1000}")
+    public void flushDue(){
+        long now = System.currentTimeMillis();
+        flush(pending.entrySet().stream()
+                .filter(e -> now - e.getValue().lastEditAt() >= idleMillis
+                        || now - e.getValue().firstEditAt() >= maxDelayMillis)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+    }
+
+    public void flushCurrentUser(){
+        flushUser(currentUser.getId());
+    }
+
+    public void flushUser(String userId){
+        flush(pending.entrySet().stream()
+                .filter(e -> e.getValue().userId().equals(userId))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+    }
+
+    @PreDestroy
+    public void flushAll(){
+        flush(Map.copyOf(pending));
+    }
+
+    private void flush(Map<String, PendingEdit> due){
+        if (due.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            Map<String, Map<String, PendingEdit>> byUser = due.entrySet().stream()
+                    .collect(Collectors.groupingBy(e -> e.getValue().userId(),
+                            Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+            byUser.forEach(this::flushForUser);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushForUser(String userId, Map<String, PendingEdit> edits){
+        Map<String, PendingEdit> applied = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Notes> notes = noteRepo.findWithBodyByIdInAndUserId(edits.keySet(), userId);
+                long changeSeq = changeSequenceService.next(userId);
+                for (Notes note : notes) {
+                    PendingEdit edit = pending.get(note.getId());
+                    if (edit == null || edit.sequence() < edits.get(note.getId()).sequence()) {
+                        continue;
+                    }
+                    String previousTitle = note.getTitle();
+                    String previousContent = note.getContent();
+                    note.setTitle(edit.title());
+                    note.setContent(edit.content());
+                    note.setChangeSeq(changeSeq);
+                    noteRevisionService.record(note, previousTitle, previousContent);
+                    noteSearchService.index(note);
+                    titleSuggestService.titleChanged(note);
+                    applied.put(note.getId(), edit);
+                }
+            });
+            edits.forEach(this::remove);
+            applied.forEach(this::remove);
+        } catch (RuntimeException e) {
+            log.warn("Autosave flush for user {} failed, keeping {} pending edit(s)", userId, edits.size(), e);
+        }
+    }
+
+    private void remove(String noteId, PendingEdit edit){
+        if (pending.remove(noteId, edit)) {
+            released(edit.userId());
+        }
+    }
+
+    private void released(String userId){
+        pendingVersions.computeIfPresent(userId, (id, version) -> version.count() > 1
+                ? new PendingVersion(version.count() - 1, version.sequence())
+                : null);
+    }
+
+    private record PendingVersion(int count, long sequence) {
+        PendingVersion plus(PendingVersion other){
+            return new PendingVersion(count + other.count, Math.max(sequence, other.sequence));
+        }
+    }
+
+    private record PendingEdit(String userId, String title, String content,
+                               long firstEditAt, long lastEditAt, long sequence) {}
+}
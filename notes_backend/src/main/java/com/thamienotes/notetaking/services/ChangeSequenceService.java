@@ -0,0 +1,73 @@
+package com.thamienotes.notetaking.services;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thamienotes.notetaking.models.Tombstone;
+import com.thamienotes.notetaking.repositories.TombstoneRepo;
+import com.thamienotes.notetaking.repositories.UserRepo;
+
+@Service
+public class ChangeSequenceService {
+    @Autowired UserRepo userRepo;
+    @Autowired TombstoneRepo tombstoneRepo;
+
+    private final Cache<String, Long> committedVersions;
+
+    public ChangeSequenceService(@Value("${notes.etag.max-users:50000}") long maxUsers,
+                                 @Value("${notes.etag.ttl-seconds:10}") long ttlSeconds) {
+        this.committedVersions = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long next(String userId){
+        if(userRepo.advanceChangeSeq(userId, 1) == 0){
+            throw new UsernameNotFoundException("Username not found");
+        }
+        long changeSeq = current(userId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committedVersions.asMap().merge(userId, changeSeq, Math::max);
+            }
+        });
+        return changeSeq;
+    }
+
+    @Transactional(readOnly = true)
+    public long current(String userId){
+        return userRepo.findChangeSeqById(userId)
+                        .orElseThrow(() -> new UsernameNotFoundException("Username not found"));
+    }
+
+    public String etag(String resource, String userId){
+        Long version = committedVersions.getIfPresent(userId);
+        if (version == null) {
+            version = committedVersions.asMap().merge(userId, current(userId), Math::max);
+        }
+        return "\"" + resource + "-" + version + "\"";
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(String userId, String entityType, String entityId, long changeSeq){
+        Tombstone tombstone = new Tombstone();
+        tombstone.setUserId(userId);
+        tombstone.setEntityType(entityType);
+        tombstone.setEntityId(entityId);
+        tombstone.setChangeSeq(changeSeq);
+        tombstoneRepo.save(tombstone);
+    }
+}
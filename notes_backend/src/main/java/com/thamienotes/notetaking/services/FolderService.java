@@ -1,44 +1,104 @@
 package com.thamienotes.notetaking.services;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.thamienotes.notetaking.dtos.Folder.FolderDetailsDto;
 import com.thamienotes.notetaking.dtos.Folder.FolderDto;
+import com.thamienotes.notetaking.dtos.Folder.FolderSummaryDto;
+import com.thamienotes.notetaking.dtos.Note.NoteDetailsDto;
+import com.thamienotes.notetaking.dtos.Note.NoteSummaryDto;
 import com.thamienotes.notetaking.mapper.FolderDetailsMapper;
 import com.thamienotes.notetaking.mapper.FolderMapper;
+import com.thamienotes.notetaking.mapper.NoteMapper;
 import com.thamienotes.notetaking.models.Folder;
+import com.thamienotes.notetaking.models.Tombstone;
 import com.thamienotes.notetaking.models.Users;
 import com.thamienotes.notetaking.repositories.FolderRepo;
-import com.thamienotes.notetaking.repositories.UserRepo;
+import com.thamienotes.notetaking.repositories.NoteRepo;
+import com.thamienotes.notetaking.securitystuff.CurrentUser;
 
 @Service
 public class FolderService {
     @Autowired FolderRepo folderRepo;
-    @Autowired UserRepo userRepo;
+    @Autowired NoteRepo noteRepo;
+    @Autowired CurrentUser currentUser;
+    @Autowired ChangeSequenceService changeSequenceService;
+    @Autowired NoteSearchService noteSearchService;
+    @Autowired TitleSuggestService titleSuggestService;
+    @Autowired AutosaveService autosaveService;
 
 
-    
+    @Transactional
     public FolderDto createFolder(FolderDetailsDto dto){
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        Users user = userRepo.findByUsername(auth.getName())
-        .orElseThrow(() -> new UsernameNotFoundException("Username not found"));
+        Users user = currentUser.getReference();
         Folder folder = FolderDetailsMapper.toEntity(dto, user);
+        long changeSeq = changeSequenceService.next(user.getId());
+        folder.setChangeSeq(changeSeq);
+        folder.getNotes().forEach(note -> note.setChangeSeq(changeSeq));
         Folder savedFolder = folderRepo.save(folder);
+        savedFolder.getNotes().forEach(note -> {
+            noteSearchService.index(note);
+            titleSuggestService.titleChanged(note);
+        });
         return FolderMapper.toDto(savedFolder);
     }
 
+    public String getFoldersEtag(){
+        String userId = currentUser.getId();
+        long pendingVersion = autosaveService.pendingVersion(userId);
+        String resource = pendingVersion == 0 ? "folders" : "folders-p" + pendingVersion;
+        return changeSequenceService.etag(resource, userId);
+    }
+
     public List<FolderDetailsDto> getFolders(){
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        List<Folder> folders = folderRepo.findByUserUsername(auth.getName());
+        String userId = currentUser.getId();
+        List<Folder> folders = folderRepo.findWithUserByUserId(userId);
+        List<NoteDetailsDto> notes = noteRepo.findFolderedWithBodyByUserId(userId)
+                        .stream()
+                        .map(NoteMapper::toDto)
+                        .toList();
+        notes.forEach(autosaveService::overlay);
+        Map<String, List<NoteDetailsDto>> notesByFolder = notes
+                        .stream()
+                        .collect(Collectors.groupingBy(NoteDetailsDto::getFolderId));
+        return folders.stream()
+                        .map(folder -> FolderDetailsMapper.toDto(folder,
+                                notesByFolder.getOrDefault(folder.getId(), List.of())))
+                        .toList();
+    }
+
+    public List<FolderSummaryDto> getFolderSummaries(){
+        String userId = currentUser.getId();
+        List<Folder> folders = folderRepo.findByUserIdOrderByTitle(userId);
+        List<NoteSummaryDto> notes = noteRepo.findFolderedSummariesByUserId(userId);
+        notes.forEach(autosaveService::overlay);
+        Map<String, List<NoteSummaryDto>> notesByFolder = notes
+                        .stream()
+                        .collect(Collectors.groupingBy(NoteSummaryDto::getFolderId));
         return folders.stream()
-                        .map(FolderDetailsMapper::toDto)
+                        .map(folder -> FolderDetailsMapper.toSummaryDto(folder,
+                                notesByFolder.getOrDefault(folder.getId(), List.of())))
                         .toList();
+    }
 
+    @Transactional
+    public void deleteFolder(String folderId){
+        String userId = currentUser.getId();
+        if(!folderRepo.existsByIdAndUserId(folderId, userId)){
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Folder not found");
+        }
+        long changeSeq = changeSequenceService.next(userId);
+        noteRepo.removeFromFolder(folderId, userId, LocalDateTime.now(), changeSeq);
+        folderRepo.deleteByIdAndUserId(folderId, userId);
+        changeSequenceService.recordDeletion(userId, Tombstone.FOLDER, folderId, changeSeq);
     }
 }
@@ -0,0 +1,107 @@
+package com.thamienotes.notetaking.services;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.thamienotes.notetaking.dtos.Note.NoteDetailsDto;
+import com.thamienotes.notetaking.mapper.NoteMapper;
+import com.thamienotes.notetaking.models.Notes;
+import com.thamienotes.notetaking.repositories.NoteRepo;
+import com.thamienotes.notetaking.securitystuff.CurrentUser;
+
+import jakarta.persistence.EntityManager;
+
+@Service
+public class NoteExportService {
+    private static final int MAX_FILENAME_LENGTH = 80;
+
+    @Autowired NoteRepo noteRepo;
+    @Autowired EntityManager entityManager;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired CurrentUser currentUser;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired AutosaveService autosaveService;
+
+    public StreamingResponseBody exportNdjson(){
+        String userId = currentUser.getId();
+        autosaveService.flushUser(userId);
+        ObjectWriter writer = objectMapper.writerFor(NoteDetailsDto.class);
+        return out -> {
+            OutputStream buffered = new BufferedOutputStream(out);
+            streamNotes(userId, note -> {
+                buffered.write(writer.writeValueAsBytes(NoteMapper.toDto(note)));
+                buffered.write('\n');
+            });
+            buffered.flush();
+        };
+    }
+
+    public StreamingResponseBody exportMarkdownZip(){
+        String userId = currentUser.getId();
+        autosaveService.flushUser(userId);
+        return out -> {
+            ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out), StandardCharsets.UTF_8);
+            streamNotes(userId, note -> {
+                zip.putNextEntry(new ZipEntry(fileName(note)));
+                String title = note.getTitle() == null ? "" : note.getTitle();
+                String content = note.getContent() == null ? "" : note.getContent();
+                zip.write(("# " + title + "\n\n" + content).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            });
+            zip.finish();
+            zip.flush();
+        };
+    }
+
+    private void streamNotes(String userId, NoteWriter noteWriter) throws IOException {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        try {
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<Notes> notes = noteRepo.streamWithBodyByUserId(userId)) {
+                    notes.forEach(note -> {
+                        try {
+                            noteWriter.write(note);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        entityManager.detach(note);
+                    });
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private String fileName(Notes note){
+        String title = note.getTitle() == null ? "" : note.getTitle();
+        String base = title.replaceAll("[^\\p{L}\\p{N} ._-]", "").strip();
+        if (base.isEmpty()) {
+            base = "untitled";
+        }
+        if (base.length() > MAX_FILENAME_LENGTH) {
+            base = base.substring(0, MAX_FILENAME_LENGTH);
+        }
+        return base + "-" + note.getId() + ".md";
+    }
+
+    @FunctionalInterface
+    private interface NoteWriter {
+        void write(Notes note) throws IOException;
+    }
+}
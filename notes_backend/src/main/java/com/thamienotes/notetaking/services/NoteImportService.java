@@ -0,0 +1,121 @@
+package com.thamienotes.notetaking.services;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.thamienotes.notetaking.dtos.Note.NoteDetailsDto;
+import com.thamienotes.notetaking.dtos.Note.NoteImportResultDto;
+import com.thamienotes.notetaking.mapper.NoteMapper;
+import com.thamienotes.notetaking.models.Notes;
+import com.thamienotes.notetaking.models.Users;
+import com.thamienotes.notetaking.securitystuff.CurrentUser;
+
+import jakarta.persistence.EntityManager;
+
+@Service
+public class NoteImportService {
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_TITLE_LENGTH = 255;
+
+    @Autowired EntityManager entityManager;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired CurrentUser currentUser;
+    @Autowired ChangeSequenceService changeSequenceService;
+    @Autowired NoteSearchService noteSearchService;
+    @Autowired TitleSuggestService titleSuggestService;
+
+    public List<NoteImportResultDto> importNotes(Iterator<NoteDetailsDto> notes){
+        String userId = currentUser.getId();
+        List<NoteImportResultDto> results = new ArrayList<>();
+        List<NoteDetailsDto> chunk = new ArrayList<>(CHUNK_SIZE);
+        int index = 0;
+        int chunkStart = 0;
+
+        while (true) {
+            NoteDetailsDto dto;
+            try {
+                if (!notes.hasNext()) {
+                    break;
+                }
+                dto = notes.next();
+            } catch (RuntimeException e) {
+                importChunk(userId, chunk, chunkStart, results);
+                results.add(new NoteImportResultDto(index, null, FAILED, "Malformed note: " + e.getMessage()));
+                return results;
+            }
+
+            chunk.add(dto);
+            index++;
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(userId, chunk, chunkStart, results);
+                chunkStart = index;
+                chunk.clear();
+            }
+        }
+        importChunk(userId, chunk, chunkStart, results);
+        return results;
+    }
+
+    private void importChunk(String userId, List<NoteDetailsDto> chunk, int chunkStart, List<NoteImportResultDto> results){
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<NoteImportResultDto> chunkResults = new ArrayList<>(chunk.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Users user = entityManager.getReference(Users.class, userId);
+                long changeSeq = changeSequenceService.next(userId);
+                List<Notes> persisted = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    NoteDetailsDto dto = chunk.get(i);
+                    String error = validate(dto);
+                    if (error != null) {
+                        chunkResults.add(new NoteImportResultDto(chunkStart + i, null, FAILED, error));
+                        persisted.add(null);
+                        continue;
+                    }
+                    Notes note = NoteMapper.toEntity(dto, user);
+                    note.setChangeSeq(changeSeq);
+                    entityManager.persist(note);
+                    noteSearchService.index(note);
+                    titleSuggestService.titleChanged(note);
+                    persisted.add(note);
+                    chunkResults.add(null);
+                }
+                entityManager.flush();
+                for (int i = 0; i < persisted.size(); i++) {
+                    if (persisted.get(i) != null) {
+                        chunkResults.set(i, new NoteImportResultDto(chunkStart + i, persisted.get(i).getId(), CREATED, null));
+                    }
+                }
+                entityManager.clear();
+            });
+            results.addAll(chunkResults);
+        } catch (RuntimeException e) {
+            entityManager.clear();
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(new NoteImportResultDto(chunkStart + i, null, FAILED, "Batch failed: " + e.getMessage()));
+            }
+        }
+    }
+
+    private String validate(NoteDetailsDto dto){
+        if (dto == null) {
+            return "Note is empty";
+        }
+        if (dto.getTitle() == null || dto.getTitle().isBlank()) {
+            return "Title is required";
+        }
+        if (dto.getTitle().length() > MAX_TITLE_LENGTH) {
+            return "Title is longer than " + MAX_TITLE_LENGTH + " characters";
+        }
+        return null;
+    }
+}
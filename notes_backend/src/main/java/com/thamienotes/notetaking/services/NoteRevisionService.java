@@ -0,0 +1,233 @@
+package com.thamienotes.notetaking.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.thamienotes.notetaking.dtos.Note.NoteRevisionDto;
+import com.thamienotes.notetaking.dtos.Note.NoteRevisionSummaryDto;
+import com.thamienotes.notetaking.models.BinaryUuidType;
+import com.thamienotes.notetaking.models.NoteRevision;
+import com.thamienotes.notetaking.models.Notes;
+import com.thamienotes.notetaking.repositories.NoteRepo;
+import com.thamienotes.notetaking.repositories.NoteRevisionRepo;
+import com.thamienotes.notetaking.securitystuff.CurrentUser;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.OptimisticLockException;
+
+@Service
+public class NoteRevisionService {
+    private static final Logger log = LoggerFactory.getLogger(NoteRevisionService.class);
+    private static final int COMPACTION_BATCH = 100;
+
+    @Autowired NoteRevisionRepo noteRevisionRepo;
+    @Autowired NoteRepo noteRepo;
+    @Autowired CurrentUser currentUser;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired EntityManager entityManager;
+
+    @Value("${notes.revisions.snapshot-interval:20}") int snapshotInterval;
+    @Value("${notes.revisions.compact-after-days:7}") int compactAfterDays;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Notes note, String previousTitle, String previousContent){
+        if (Objects.equals(previousTitle, note.getTitle()) && Objects.equals(previousContent, note.getContent())) {
+            return;
+        }
+        try {
+            entityManager.lock(note, LockModeType.PESSIMISTIC_WRITE);
+        } catch (OptimisticLockException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Note was changed concurrently");
+        }
+        NoteRevision latest = noteRevisionRepo.findFirstByNoteIdOrderByRevisionNoDesc(note.getId()).orElse(null);
+        if (latest == null) {
+            latest = saveChecked(snapshot(note.getId(), 1, previousTitle, previousContent));
+        }
+        saveChecked(next(note.getId(), latest, previousContent, note.getTitle(), note.getContent()));
+    }
+
+    private NoteRevision saveChecked(NoteRevision revision){
+        try {
+            return noteRevisionRepo.saveAndFlush(revision);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Revision " + revision.getRevisionNo() + " was recorded concurrently");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<NoteRevisionSummaryDto> getRevisions(String noteId){
+        checkOwner(noteId);
+        return noteRevisionRepo.findSummariesByNoteId(noteId);
+    }
+
+    @Transactional(readOnly = true)
+    public NoteRevisionDto getRevision(String noteId, int revisionNo){
+        checkOwner(noteId);
+        NoteRevision revision = noteRevisionRepo.findByNoteIdAndRevisionNo(noteId, revisionNo)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Revision not found"));
+
+        String content = null;
+        for (NoteRevision link : noteRevisionRepo.findChain(noteId, revision.getSnapshotNo(), revisionNo)) {
+            content = link.applyTo(content);
+        }
+
+        NoteRevisionDto dto = new NoteRevisionDto();
+        dto.setNoteId(noteId);
+        dto.setRevisionNo(revisionNo);
+        dto.setTitle(revision.getTitle());
+        dto.setContent(content);
+        dto.setCreatedAt(revision.getCreatedAt());
+        return dto;
+    }
+
+    public void deleteAll(String noteId){
+        noteRevisionRepo.deleteByNoteId(noteId);
+    }
+
+    @Scheduled(cron = "${notes.revisions.compaction-cron:0 30 3 * * *}")
+    public void compact(){
+        LocalDateTime cutoff = LocalDate.now().minusDays(compactAfterDays).atStartOfDay();
+        List<String> noteIds;
+        do {
+            noteIds = noteRevisionRepo.findCompactableNoteIds(cutoff, PageRequest.of(0, COMPACTION_BATCH))
+                    .stream()
+                    .map(BinaryUuidType::toString)
+                    .toList();
+            for (String noteId : noteIds) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> compactNote(noteId, cutoff));
+                } catch (RuntimeException e) {
+                    log.warn("Revision compaction for note {} failed", noteId, e);
+                    return;
+                }
+            }
+        } while (noteIds.size() == COMPACTION_BATCH);
+    }
+
+    private void compactNote(String noteId, LocalDateTime cutoff){
+        if (entityManager.find(Notes.class, noteId, LockModeType.PESSIMISTIC_WRITE) == null) {
+            return;
+        }
+        List<NoteRevision> revisions = noteRevisionRepo.findByNoteIdOrderByRevisionNo(noteId);
+        List<String> contents = new ArrayList<>(revisions.size());
+        String content = null;
+        for (NoteRevision revision : revisions) {
+            content = revision.applyTo(content);
+            contents.add(content);
+        }
+
+        NoteRevision previousKept = null;
+        String previousKeptContent = null;
+        for (int i = 0; i < revisions.size(); i++) {
+            NoteRevision revision = revisions.get(i);
+            if (!keep(revisions, i, cutoff)) {
+                noteRevisionRepo.delete(revision);
+                continue;
+            }
+            if (previousKept == null) {
+                rewriteAsSnapshot(revision, contents.get(i));
+            } else {
+                rewrite(revision, previousKept, previousKeptContent, contents.get(i));
+            }
+            previousKept = revision;
+            previousKeptContent = contents.get(i);
+        }
+    }
+
+    private boolean keep(List<NoteRevision> revisions, int index, LocalDateTime cutoff){
+        NoteRevision revision = revisions.get(index);
+        if (!revision.getCreatedAt().isBefore(cutoff) || index == revisions.size() - 1) {
+            return true;
+        }
+        LocalDate day = revision.getCreatedAt().toLocalDate();
+        return !revisions.get(index + 1).getCreatedAt().toLocalDate().equals(day);
+    }
+
+    private NoteRevision next(String noteId, NoteRevision latest, String previousContent, String title, String content){
+        int revisionNo = latest.getRevisionNo() + 1;
+        if (latest.getDepth() + 1 >= snapshotInterval) {
+            return snapshot(noteId, revisionNo, title, content);
+        }
+        NoteRevision revision = new NoteRevision();
+        revision.setNoteId(noteId);
+        revision.setRevisionNo(revisionNo);
+        revision.setTitle(title);
+        setDelta(revision, latest, previousContent, content);
+        return revision;
+    }
+
+    private void rewrite(NoteRevision revision, NoteRevision previous, String previousContent, String content){
+        if (previous.getDepth() + 1 >= snapshotInterval) {
+            rewriteAsSnapshot(revision, content);
+        } else {
+            setDelta(revision, previous, previousContent, content);
+        }
+    }
+
+    private void rewriteAsSnapshot(NoteRevision revision, String content){
+        revision.setKind(NoteRevision.SNAPSHOT);
+        revision.setSnapshotNo(revision.getRevisionNo());
+        revision.setDepth(0);
+        revision.setPrefixLength(0);
+        revision.setSuffixLength(0);
+        revision.setPayload(content);
+        revision.setContentLength(content == null ? 0 : content.length());
+    }
+
+    private NoteRevision snapshot(String noteId, int revisionNo, String title, String content){
+        NoteRevision revision = new NoteRevision();
+        revision.setNoteId(noteId);
+        revision.setRevisionNo(revisionNo);
+        revision.setTitle(title);
+        rewriteAsSnapshot(revision, content);
+        return revision;
+    }
+
+    private void setDelta(NoteRevision revision, NoteRevision previous, String previousContent, String content){
+        String before = previousContent == null ? "" : previousContent;
+        String after = content == null ? "" : content;
+        int max = Math.min(before.length(), after.length());
+
+        int prefix = 0;
+        while (prefix < max && before.charAt(prefix) == after.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+                && before.charAt(before.length() - 1 - suffix) == after.charAt(after.length() - 1 - suffix)) {
+            suffix++;
+        }
+
+        revision.setKind(NoteRevision.DELTA);
+        revision.setSnapshotNo(previous.getSnapshotNo());
+        revision.setDepth(previous.getDepth() + 1);
+        revision.setPrefixLength(prefix);
+        revision.setSuffixLength(suffix);
+        revision.setPayload(after.substring(prefix, after.length() - suffix));
+        revision.setContentLength(after.length());
+    }
+
+    private void checkOwner(String noteId){
+        if (!noteRepo.existsByIdAndUserId(noteId, currentUser.getId())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Note not found");
+        }
+    }
+}
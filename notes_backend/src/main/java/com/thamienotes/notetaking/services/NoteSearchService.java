@@ -0,0 +1,322 @@
+package com.thamienotes.notetaking.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.thamienotes.notetaking.dtos.Note.NoteSearchHitDto;
+import com.thamienotes.notetaking.models.Notes;
+import com.thamienotes.notetaking.models.Tombstone;
+import com.thamienotes.notetaking.repositories.NoteRepo;
+import com.thamienotes.notetaking.repositories.TombstoneRepo;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+
+@Service
+public class NoteSearchService {
+    private static final Logger log = LoggerFactory.getLogger(NoteSearchService.class);
+
+    private static final String ID = "id";
+    private static final String USER_ID = "userId";
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+    private static final String INDEXED_UP_TO = "indexedUpTo";
+    private static final float TITLE_BOOST = 2.0f;
+    private static final int SNIPPET_FALLBACK_LENGTH = 160;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired NoteRepo noteRepo;
+    @Autowired TombstoneRepo tombstoneRepo;
+    @Autowired EntityManager entityManager;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Value("${notes.search.index-dir:data/search-index}") String indexDir;
+    @Value("${notes.search.catch-up-margin-minutes:5}") long catchUpMarginMinutes;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final ExecutorService indexThread =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("note-search-index").daemon().factory());
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private LocalDateTime catchUpFrom;
+
+    @PostConstruct
+    public void open() throws IOException {
+        Path path = Path.of(indexDir);
+        Files.createDirectories(path);
+        directory = FSDirectory.open(path);
+
+        catchUpFrom = EPOCH;
+        if (DirectoryReader.indexExists(directory)) {
+            String indexedUpTo = SegmentInfos.readLatestCommit(directory).getUserData().get(INDEXED_UP_TO);
+            if (indexedUpTo != null) {
+                catchUpFrom = LocalDateTime.parse(indexedUpTo).minusMinutes(catchUpMarginMinutes);
+            }
+        }
+
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        LocalDateTime from = catchUpFrom;
+        indexThread.execute(() -> {
+            try {
+                reindexSince(from);
+            } catch (RuntimeException | IOException e) {
+                log.warn("Search index catch-up from {} failed", from, e);
+            }
+        });
+    }
+
+    public void index(Notes note) {
+        IndexedNote snapshot = new IndexedNote(note.getId(), note.getUser().getId(), note.getTitle(), note.getContent());
+        afterCommit(() -> writer.updateDocument(new Term(ID, snapshot.id()), toDocument(snapshot)));
+    }
+
+    public void remove(String noteId) {
+        afterCommit(() -> writer.deleteDocuments(new Term(ID, noteId)));
+    }
+
+    public List<NoteSearchHitDto> search(String userId, String text, int limit) throws IOException {
+        Query query = buildQuery(userId, text);
+        if (query == null) {
+            return List.of();
+        }
+        if (dirty.getAndSet(false) && !searcherManager.maybeRefresh()) {
+            dirty.set(true);
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(query, limit);
+            UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer).build();
+            String[] snippets = highlighter.highlight(CONTENT, query, topDocs);
+            StoredFields storedFields = searcher.storedFields();
+
+            List<NoteSearchHitDto> hits = new ArrayList<>(topDocs.scoreDocs.length);
+            for (int i = 0; i < topDocs.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                Document document = storedFields.document(scoreDoc.doc);
+                NoteSearchHitDto hit = new NoteSearchHitDto();
+                hit.setId(document.get(ID));
+                hit.setTitle(document.get(TITLE));
+                hit.setSnippet(snippets[i] != null ? snippets[i] : fallbackSnippet(document.get(CONTENT)));
+                hit.setScore(scoreDoc.score);
+                hits.add(hit);
+            }
+            return hits;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notes.search.commit-interval-ms:30000}")
+    public void scheduledCommit() throws IOException {
+        onIndexThread(this::commit);
+    }
+
+    private void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            LocalDateTime commitStartedAt = LocalDateTime.now();
+            writer.setLiveCommitData(Map.of(INDEXED_UP_TO, commitStartedAt.toString()).entrySet());
+            writer.commit();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        onIndexThread(() -> {
+            commit();
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        });
+        indexThread.shutdown();
+        indexThread.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void reindexSince(LocalDateTime from) throws IOException {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<Notes> notes = noteRepo.streamWithBodyUpdatedSince(from)) {
+                notes.forEach(note -> {
+                    IndexedNote snapshot = new IndexedNote(note.getId(), note.getUser().getId(), note.getTitle(), note.getContent());
+                    try {
+                        writer.updateDocument(new Term(ID, snapshot.id()), toDocument(snapshot));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    entityManager.detach(note);
+                });
+            }
+        });
+        for (Tombstone tombstone : tombstoneRepo.findByEntityTypeAndDeletedAtGreaterThanEqual(Tombstone.NOTE, from)) {
+            writer.deleteDocuments(new Term(ID, tombstone.getEntityId()));
+        }
+        dirty.set(true);
+        commit();
+    }
+
+    private Query buildQuery(String userId, String text) throws IOException {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        List<String> tokens = analyze(text);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        boolean prefixLast = !Character.isWhitespace(text.charAt(text.length() - 1));
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        builder.add(new TermQuery(new Term(USER_ID, userId)), BooleanClause.Occur.FILTER);
+        for (int i = 0; i < tokens.size(); i++) {
+            boolean prefix = prefixLast && i == tokens.size() - 1;
+            builder.add(termClause(tokens.get(i), prefix), BooleanClause.Occur.MUST);
+        }
+        return builder.build();
+    }
+
+    private Query termClause(String token, boolean prefix) {
+        Query title = prefix ? new PrefixQuery(new Term(TITLE, token)) : new TermQuery(new Term(TITLE, token));
+        Query content = prefix ? new PrefixQuery(new Term(CONTENT, token)) : new TermQuery(new Term(CONTENT, token));
+        return new BooleanQuery.Builder()
+                .add(new BoostQuery(title, TITLE_BOOST), BooleanClause.Occur.SHOULD)
+                .add(content, BooleanClause.Occur.SHOULD)
+                .build();
+    }
+
+    private List<String> analyze(String text) throws IOException {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(CONTENT, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        }
+        return tokens;
+    }
+
+    private Document toDocument(IndexedNote note) {
+        Document document = new Document();
+        document.add(new StringField(ID, note.id(), Field.Store.YES));
+        document.add(new StringField(USER_ID, note.userId(), Field.Store.NO));
+        document.add(new TextField(TITLE, note.title() == null ? "" : note.title(), Field.Store.YES));
+        document.add(new TextField(CONTENT, note.content() == null ? "" : note.content(), Field.Store.YES));
+        return document;
+    }
+
+    private String fallbackSnippet(String content) {
+        if (content == null) {
+            return "";
+        }
+        return content.length() <= SNIPPET_FALLBACK_LENGTH ? content : content.substring(0, SNIPPET_FALLBACK_LENGTH);
+    }
+
+    private void afterCommit(IndexOperation operation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    indexThread.execute(() -> apply(operation));
+                }
+            });
+        } else {
+            indexThread.execute(() -> apply(operation));
+        }
+    }
+
+    private void apply(IndexOperation operation) {
+        try {
+            operation.run();
+            dirty.set(true);
+        } catch (IOException e) {
+            log.warn("Search index update failed", e);
+        }
+    }
+
+    private void onIndexThread(IndexOperation operation) throws IOException {
+        try {
+            indexThread.submit(() -> {
+                operation.run();
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for the search index", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexOperation {
+        void run() throws IOException;
+    }
+
+    private record IndexedNote(String id, String userId, String title, String content) {}
+}
@@ -1,63 +1,256 @@
 package com.thamienotes.notetaking.services;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.thamienotes.notetaking.dtos.Note.NoteCursorDto;
 import com.thamienotes.notetaking.dtos.Note.NoteDetailsDto;
 import com.thamienotes.notetaking.dtos.Note.NoteFolderDto;
+import com.thamienotes.notetaking.dtos.Note.NotePageDto;
+import com.thamienotes.notetaking.dtos.Note.NotePatchDto;
+import com.thamienotes.notetaking.dtos.Note.NoteRevisionDto;
+import com.thamienotes.notetaking.dtos.Note.NoteSearchHitDto;
+import com.thamienotes.notetaking.dtos.Note.NoteSummaryDto;
+import com.thamienotes.notetaking.dtos.Note.NoteTextEditDto;
+import com.thamienotes.notetaking.dtos.Note.NoteTitleDto;
+import com.thamienotes.notetaking.dtos.Note.NoteVersionDto;
+import com.thamienotes.notetaking.mapper.NoteCursorMapper;
 import com.thamienotes.notetaking.mapper.NoteMapper;
 import com.thamienotes.notetaking.models.Folder;
 import com.thamienotes.notetaking.models.Notes;
+import com.thamienotes.notetaking.models.Tombstone;
 import com.thamienotes.notetaking.models.Users;
+import com.thamienotes.notetaking.repositories.FolderRepo;
 import com.thamienotes.notetaking.repositories.NoteRepo;
-import com.thamienotes.notetaking.repositories.UserRepo;
+import com.thamienotes.notetaking.securitystuff.CurrentUser;
 
 @Service
 public class NoteService {
-    @Autowired UserRepo userRepo;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MOVE_CHUNK_SIZE = 1000;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 50;
+    private static final int DEFAULT_SUGGEST_LIMIT = 10;
+    private static final int MAX_SUGGEST_LIMIT = 50;
+
     @Autowired NoteRepo noteRepo;
+    @Autowired FolderRepo folderRepo;
+    @Autowired CurrentUser currentUser;
+    @Autowired ChangeSequenceService changeSequenceService;
+    @Autowired NoteSearchService noteSearchService;
+    @Autowired TitleSuggestService titleSuggestService;
+    @Autowired AutosaveService autosaveService;
+    @Autowired NoteRevisionService noteRevisionService;
 
+    @Transactional
     public NoteDetailsDto createNewNote(NoteDetailsDto dto){
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        Users user = userRepo.findByUsername(auth.getName())
-                                .orElseThrow(() -> new UsernameNotFoundException("Username not found"));
+        Users user = currentUser.getReference();
         Notes note = NoteMapper.toEntity(dto, user);
+        note.setChangeSeq(changeSequenceService.next(user.getId()));
         Notes savedNote = noteRepo.save(note);
+        noteSearchService.index(savedNote);
+        titleSuggestService.titleChanged(savedNote);
         return NoteMapper.toDto(savedNote);
     }
 
-public void addNoteToFolder(NoteFolderDto dto) {
-    List<Notes> notes = noteRepo.findAllById(dto.getNoteIds());
+    @Transactional
+    public int addNoteToFolder(NoteFolderDto dto) {
+        String userId = currentUser.getId();
+        if(dto.getFolderId() == null || !folderRepo.existsByIdAndUserId(dto.getFolderId(), userId)){
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Folder not found");
+        }
+        if(dto.getNoteIds() == null || dto.getNoteIds().isEmpty()){
+            return 0;
+        }
+
+        Folder folder = folderRepo.getReferenceById(dto.getFolderId());
+        List<String> noteIds = dto.getNoteIds().stream().distinct().toList();
+        LocalDateTime now = LocalDateTime.now();
 
-    Folder folder = new Folder();
-    folder.setId(dto.getFolderId());
+        long changeSeq = changeSequenceService.next(userId);
 
-    for (Notes note : notes) {
-        note.setFolder(folder);
+        int moved = 0;
+        for (int start = 0; start < noteIds.size(); start += MOVE_CHUNK_SIZE) {
+            List<String> chunk = noteIds.subList(start, Math.min(start + MOVE_CHUNK_SIZE, noteIds.size()));
+            moved += noteRepo.moveToFolder(folder, chunk, userId, now, changeSeq);
+        }
+        return moved;
     }
 
-    noteRepo.saveAll(notes);
-}
+    @Transactional
+    public void autosaveNote(String noteId, NoteDetailsDto dto){
+        String userId = currentUser.getId();
+        if(!autosaveService.enqueue(userId, noteId, dto)){
+            updateNote(noteId, dto);
+        }
+    }
+
+    public String getUserNotesEtag(){
+        String userId = currentUser.getId();
+        long pendingVersion = autosaveService.pendingVersion(userId);
+        String resource = pendingVersion == 0 ? "notes" : "notes-p" + pendingVersion;
+        return changeSequenceService.etag(resource, userId);
+    }
 
     public List<NoteDetailsDto> getUserNotes(){
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        List<Notes> notes = noteRepo.findByUserUsername(auth.getName());
-        return notes.stream().map(NoteMapper::toDto).collect(Collectors.toList());
+        List<Notes> notes = noteRepo.findWithBodyByUserId(currentUser.getId());
+        List<NoteDetailsDto> dtos = notes.stream().map(NoteMapper::toDto).collect(Collectors.toList());
+        dtos.forEach(autosaveService::overlay);
+        return dtos;
+    }
+
+    public NotePageDto getUserNotesPage(String cursor, Integer size){
+        String userId = currentUser.getId();
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<NoteSummaryDto> notes;
+        if(cursor == null || cursor.isBlank()){
+            notes = noteRepo.findFirstSummaryPageByUserId(userId, limit);
+        } else {
+            NoteCursorDto after = decodeCursor(cursor);
+            notes = noteRepo.findSummaryPageAfterByUserId(userId, after.getUpdatedAt(), after.getId(), limit);
+        }
+
+        boolean hasMore = notes.size() > pageSize;
+        List<NoteSummaryDto> page = hasMore ? notes.subList(0, pageSize) : notes;
+        page.forEach(autosaveService::overlay);
+
+        NotePageDto dto = new NotePageDto();
+        dto.setNotes(page);
+        dto.setNextCursor(hasMore ? NoteCursorMapper.toCursor(page.get(page.size() - 1)) : null);
+        return dto;
+    }
+
+    public List<NoteSearchHitDto> searchNotes(String query, Integer limit) throws IOException {
+        int maxHits = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        return noteSearchService.search(currentUser.getId(), query, maxHits);
+    }
+
+    public List<NoteTitleDto> suggestTitles(String prefix, Integer limit){
+        int maxHits = limit == null ? DEFAULT_SUGGEST_LIMIT : Math.max(1, Math.min(limit, MAX_SUGGEST_LIMIT));
+        return titleSuggestService.suggest(currentUser.getId(), prefix, maxHits);
     }
 
+    private NoteCursorDto decodeCursor(String cursor){
+        try {
+            return NoteCursorMapper.toDto(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    @Transactional
     public NoteDetailsDto updateNote(String noteId, NoteDetailsDto dto){
-        Notes note = noteRepo.findById(noteId)
+        String userId = currentUser.getId();
+        Notes note = noteRepo.findByIdAndUserId(noteId, userId)
                     .orElseThrow(() -> new IndexOutOfBoundsException("Id can't be found LMAO"));
+        if(dto.getVersion() != null){
+            checkVersion(note, dto.getVersion());
+        }
         
+        autosaveService.discard(noteId);
+        String previousTitle = note.getTitle();
+        String previousContent = note.getContent();
         note.setTitle(dto.getTitle());
         note.setContent(dto.getContent());
-        Notes updateNotes = noteRepo.save(note);
+        note.setChangeSeq(changeSequenceService.next(userId));
+        noteRevisionService.record(note, previousTitle, previousContent);
+        Notes updateNotes = saveChecked(note);
+        noteSearchService.index(updateNotes);
+        titleSuggestService.titleChanged(updateNotes);
         return NoteMapper.toDto(updateNotes);
     }
+
+    @Transactional
+    public NoteVersionDto patchNote(String noteId, NotePatchDto dto){
+        String userId = currentUser.getId();
+        if(dto.getBaseVersion() == null){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "baseVersion is required");
+        }
+        Notes note = noteRepo.findByIdAndUserId(noteId, userId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Note not found"));
+        checkVersion(note, dto.getBaseVersion());
+        if(autosaveService.hasPending(noteId)){
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Note has unsaved autosave edits");
+        }
+
+        String previousTitle = note.getTitle();
+        String previousContent = note.getContent();
+        if(dto.getTitle() != null){
+            note.setTitle(dto.getTitle());
+        }
+        if(dto.getEdits() != null && !dto.getEdits().isEmpty()){
+            note.setContent(applyEdits(previousContent, dto.getEdits()));
+        }
+        note.setChangeSeq(changeSequenceService.next(userId));
+        noteRevisionService.record(note, previousTitle, previousContent);
+        Notes patched = saveChecked(note);
+        noteSearchService.index(patched);
+        titleSuggestService.titleChanged(patched);
+        return NoteMapper.toVersionDto(patched);
+    }
+
+    @Transactional
+    public NoteDetailsDto restoreRevision(String noteId, int revisionNo){
+        NoteRevisionDto revision = noteRevisionService.getRevision(noteId, revisionNo);
+        NoteDetailsDto dto = new NoteDetailsDto();
+        dto.setTitle(revision.getTitle());
+        dto.setContent(revision.getContent());
+        return updateNote(noteId, dto);
+    }
+
+    private void checkVersion(Notes note, long expected){
+        if(note.getVersion() != expected){
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Note is at version " + note.getVersion() + ", not " + expected);
+        }
+    }
+
+    private Notes saveChecked(Notes note){
+        try {
+            return noteRepo.saveAndFlush(note);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Note was changed concurrently");
+        }
+    }
+
+    private String applyEdits(String content, List<NoteTextEditDto> edits){
+        StringBuilder text = new StringBuilder(content == null ? "" : content);
+        for (NoteTextEditDto edit : edits) {
+            int start = edit.getOffset();
+            int deleteCount = edit.getDeleteCount();
+            if(start < 0 || deleteCount < 0 || start > text.length() || deleteCount > text.length() - start){
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Edit at " + start + " deleting " + deleteCount + " is outside the note (length " + text.length() + ")");
+            }
+            text.replace(start, start + deleteCount, edit.getInsert() == null ? "" : edit.getInsert());
+        }
+        return text.toString();
+    }
+
+    @Transactional
+    public void deleteNote(String noteId){
+        String userId = currentUser.getId();
+        Notes note = noteRepo.findByIdAndUserId(noteId, userId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Note not found"));
+        autosaveService.discard(noteId);
+        noteRevisionService.deleteAll(noteId);
+        noteRepo.delete(note);
+        noteSearchService.remove(noteId);
+        titleSuggestService.noteRemoved(userId, noteId);
+        changeSequenceService.recordDeletion(userId, Tombstone.NOTE, noteId, changeSequenceService.next(userId));
+    }
 }
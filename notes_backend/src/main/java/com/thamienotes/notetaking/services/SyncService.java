@@ -0,0 +1,55 @@
+package com.thamienotes.notetaking.services;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thamienotes.notetaking.dtos.Sync.SyncDto;
+import com.thamienotes.notetaking.mapper.NoteMapper;
+import com.thamienotes.notetaking.mapper.SyncMapper;
+import com.thamienotes.notetaking.repositories.FolderRepo;
+import com.thamienotes.notetaking.repositories.NoteRepo;
+import com.thamienotes.notetaking.repositories.TombstoneRepo;
+import com.thamienotes.notetaking.securitystuff.CurrentUser;
+
+@Service
+public class SyncService {
+    private static final long FULL_SYNC = -1;
+
+    @Autowired NoteRepo noteRepo;
+    @Autowired FolderRepo folderRepo;
+    @Autowired TombstoneRepo tombstoneRepo;
+    @Autowired ChangeSequenceService changeSequenceService;
+    @Autowired CurrentUser currentUser;
+
+    @Transactional(readOnly = true)
+    public SyncDto getChanges(Long since){
+        String userId = currentUser.getId();
+        long from = since == null ? FULL_SYNC : since;
+        long upTo = changeSequenceService.current(userId);
+
+        SyncDto dto = new SyncDto();
+        dto.setCursor(Math.max(from, upTo));
+        if(from >= upTo){
+            dto.setNotes(List.of());
+            dto.setFolders(List.of());
+            dto.setDeleted(List.of());
+            return dto;
+        }
+        dto.setNotes(noteRepo.findChangedWithBody(userId, from, upTo)
+                            .stream()
+                            .map(NoteMapper::toDto)
+                            .toList());
+        dto.setFolders(folderRepo.findChanged(userId, from, upTo)
+                            .stream()
+                            .map(SyncMapper::toFolderDto)
+                            .toList());
+        dto.setDeleted(from == FULL_SYNC ? List.of() : tombstoneRepo.findChanged(userId, from, upTo)
+                            .stream()
+                            .map(SyncMapper::toTombstoneDto)
+                            .toList());
+        return dto;
+    }
+}
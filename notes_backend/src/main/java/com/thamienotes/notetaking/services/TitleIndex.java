@@ -0,0 +1,252 @@
+package com.thamienotes.notetaking.services;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.thamienotes.notetaking.dtos.Note.NoteTitleDto;
+
+final class TitleIndex {
+    private static final int MAX_WORD_STARTS = 8;
+    private static final int MIN_REBUILD_DELTA = 64;
+    private static final int REBUILD_DELTA_DIVISOR = 8;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile State state;
+
+    TitleIndex(List<NoteTitleDto> titles) {
+        for (NoteTitleDto title : titles) {
+            long recency = title.getUpdatedAt() == null ? 0 : title.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+            entries.put(title.getId(), Entry.of(title.getTitle(), recency));
+        }
+        state = new State(Snapshot.of(entries), Map.of());
+    }
+
+    void put(String id, String title, long recency) {
+        writeLock.lock();
+        try {
+            Entry previous = entries.get(id);
+            boolean sameTitle = previous != null && Objects.equals(previous.title(), title);
+            if (sameTitle && previous.recency() == recency) {
+                return;
+            }
+            Entry entry = sameTitle ? previous.withRecency(recency) : Entry.of(title, recency);
+            entries.put(id, entry);
+            apply(id, entry);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void remove(String id) {
+        writeLock.lock();
+        try {
+            if (entries.remove(id) != null) {
+                apply(id, Entry.REMOVED);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    List<NoteTitleDto> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        State current = state;
+        TopHits top = new TopHits(limit);
+        current.snapshot().collect(normalized, current.delta(), top);
+        current.delta().forEach((id, entry) -> {
+            if (entry != Entry.REMOVED && entry.matches(normalized)) {
+                top.offer(id, entry.title(), entry.recency());
+            }
+        });
+        return top.toList();
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private void apply(String id, Entry entry) {
+        State current = state;
+        if (current.delta().size() >= Math.max(MIN_REBUILD_DELTA, entries.size() / REBUILD_DELTA_DIVISOR)) {
+            state = new State(Snapshot.of(entries), Map.of());
+            return;
+        }
+        Map<String, Entry> delta = new HashMap<>(current.delta());
+        delta.put(id, entry);
+        state = new State(current.snapshot(), Collections.unmodifiableMap(delta));
+    }
+
+    private record State(Snapshot snapshot, Map<String, Entry> delta) {}
+
+    private record Entry(String title, String normalized, long recency) {
+        static final Entry REMOVED = new Entry(null, "", Long.MIN_VALUE);
+
+        static Entry of(String title, long recency) {
+            return new Entry(title, normalize(title), recency);
+        }
+
+        Entry withRecency(long updated) {
+            return new Entry(title, normalized, updated);
+        }
+
+        boolean matches(String prefix) {
+            int starts = 0;
+            for (int i = 0; i < normalized.length() && starts < MAX_WORD_STARTS; i++) {
+                if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                    if (normalized.startsWith(prefix, i)) {
+                        return true;
+                    }
+                    starts++;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Snapshot {
+        private final String[] keys;
+        private final int[] owners;
+        private final String[] ids;
+        private final String[] titles;
+        private final long[] recency;
+
+        private Snapshot(String[] keys, int[] owners, String[] ids, String[] titles, long[] recency) {
+            this.keys = keys;
+            this.owners = owners;
+            this.ids = ids;
+            this.titles = titles;
+            this.recency = recency;
+        }
+
+        static Snapshot of(Map<String, Entry> entries) {
+            int size = entries.size();
+            String[] ids = new String[size];
+            String[] titles = new String[size];
+            long[] recency = new long[size];
+            List<Key> keyList = new ArrayList<>(size * 2);
+
+            int note = 0;
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                ids[note] = entry.getKey();
+                titles[note] = entry.getValue().title();
+                recency[note] = entry.getValue().recency();
+                String normalized = entry.getValue().normalized();
+                int starts = 0;
+                for (int i = 0; i < normalized.length() && starts < MAX_WORD_STARTS; i++) {
+                    if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                        keyList.add(new Key(normalized.substring(i), note));
+                        starts++;
+                    }
+                }
+                note++;
+            }
+
+            keyList.sort((a, b) -> a.text().compareTo(b.text()));
+            String[] keys = new String[keyList.size()];
+            int[] owners = new int[keyList.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = keyList.get(i).text();
+                owners[i] = keyList.get(i).owner();
+            }
+            return new Snapshot(keys, owners, ids, titles, recency);
+        }
+
+        void collect(String prefix, Map<String, Entry> superseded, TopHits top) {
+            for (int i = lowerBound(prefix); i < keys.length && keys[i].startsWith(prefix); i++) {
+                int owner = owners[i];
+                if (superseded.containsKey(ids[owner])) {
+                    continue;
+                }
+                top.offer(ids[owner], titles[owner], recency[owner]);
+            }
+        }
+
+        private int lowerBound(String prefix) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private static final class TopHits {
+        private final String[] ids;
+        private final String[] titles;
+        private final long[] recency;
+        private int count;
+
+        TopHits(int limit) {
+            ids = new String[limit];
+            titles = new String[limit];
+            recency = new long[limit];
+        }
+
+        void offer(String id, String title, long updated) {
+            for (int i = 0; i < count; i++) {
+                if (ids[i].equals(id)) {
+                    return;
+                }
+            }
+            int slot;
+            if (count < ids.length) {
+                slot = count++;
+            } else if (updated > recency[count - 1]) {
+                slot = count - 1;
+            } else {
+                return;
+            }
+            ids[slot] = id;
+            titles[slot] = title;
+            recency[slot] = updated;
+            for (int j = slot; j > 0 && recency[j] > recency[j - 1]; j--) {
+                swap(j, j - 1);
+            }
+        }
+
+        List<NoteTitleDto> toList() {
+            List<NoteTitleDto> hits = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                hits.add(new NoteTitleDto(ids[i], titles[i],
+                        LocalDateTime.ofInstant(Instant.ofEpochMilli(recency[i]), ZoneOffset.UTC)));
+            }
+            return hits;
+        }
+
+        private void swap(int a, int b) {
+            String id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            String title = titles[a];
+            titles[a] = titles[b];
+            titles[b] = title;
+            long updated = recency[a];
+            recency[a] = recency[b];
+            recency[b] = updated;
+        }
+    }
+
+    private record Key(String text, int owner) {}
+}
@@ -0,0 +1,107 @@
+package com.thamienotes.notetaking.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thamienotes.notetaking.dtos.Note.NoteTitleDto;
+import com.thamienotes.notetaking.models.Notes;
+import com.thamienotes.notetaking.repositories.NoteRepo;
+
+@Service
+public class TitleSuggestService {
+    @Autowired NoteRepo noteRepo;
+
+    private final Cache<String, TitleIndex> indexes;
+    private final Set<InFlightLoad> inFlight = ConcurrentHashMap.newKeySet();
+
+    public TitleSuggestService(@Value("${notes.suggest.max-users:10000}") long maxUsers,
+                               @Value("${notes.suggest.idle-minutes:15}") long idleMinutes) {
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .build();
+    }
+
+    public List<NoteTitleDto> suggest(String userId, String prefix, int limit){
+        TitleIndex index = indexes.getIfPresent(userId);
+        if (index == null) {
+            index = load(userId);
+        }
+        return index.suggest(prefix, limit);
+    }
+
+    public void titleChanged(Notes note){
+        String userId = note.getUser().getId();
+        String noteId = note.getId();
+        String title = note.getTitle();
+        afterCommit(() -> {
+            long recency = LocalDateTime.now().toInstant(ZoneOffset.UTC).toEpochMilli();
+            apply(userId, index -> index.put(noteId, title, recency));
+        });
+    }
+
+    public void noteRemoved(String userId, String noteId){
+        afterCommit(() -> apply(userId, index -> index.remove(noteId)));
+    }
+
+    // Changes committed while a load's query runs may be missing from its result, so they are queued and replayed.
+    private TitleIndex load(String userId){
+        InFlightLoad load = new InFlightLoad(userId, new ConcurrentLinkedQueue<>());
+        inFlight.add(load);
+        try {
+            TitleIndex loaded = new TitleIndex(noteRepo.findTitlesByUserId(userId));
+            TitleIndex index = indexes.asMap().putIfAbsent(userId, loaded);
+            if (index == null) {
+                index = loaded;
+            }
+            for (Consumer<TitleIndex> change = load.missed().poll(); change != null; change = load.missed().poll()) {
+                change.accept(index);
+            }
+            return index;
+        } finally {
+            inFlight.remove(load);
+        }
+    }
+
+    private void apply(String userId, Consumer<TitleIndex> change){
+        for (InFlightLoad load : inFlight) {
+            if (load.userId().equals(userId)) {
+                load.missed().add(change);
+            }
+        }
+        TitleIndex index = indexes.getIfPresent(userId);
+        if (index != null) {
+            change.accept(index);
+        }
+    }
+
+    private void afterCommit(Runnable action){
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record InFlightLoad(String userId, Queue<Consumer<TitleIndex>> missed) {}
+}
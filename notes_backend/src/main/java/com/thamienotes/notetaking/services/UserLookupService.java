@@ -0,0 +1,32 @@
+package com.thamienotes.notetaking.services;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import com.thamienotes.notetaking.models.Users;
+import com.thamienotes.notetaking.repositories.UserRepo;
+
+@Service
+public class UserLookupService {
+    public static final String USERS_BY_USERNAME = "usersByUsername";
+
+    @Autowired UserRepo userRepo;
+    @Autowired CacheManager cacheManager;
+
+    @Cacheable(cacheNames = USERS_BY_USERNAME, unless = "#result == null")
+    public Optional<Users> findByUsername(String username){
+        return userRepo.findByUsername(username);
+    }
+
+    public void evict(String username){
+        Cache cache = cacheManager.getCache(USERS_BY_USERNAME);
+        if(cache != null){
+            cache.evict(username);
+        }
+    }
+}
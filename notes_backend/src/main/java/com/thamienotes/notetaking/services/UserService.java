@@ -1,21 +1,67 @@
 package com.thamienotes.notetaking.services;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.thamienotes.notetaking.dtos.User.PasswordChangeDto;
 import com.thamienotes.notetaking.dtos.User.UserDto;
 import com.thamienotes.notetaking.mapper.UserMapper;
 import com.thamienotes.notetaking.models.Users;
 import com.thamienotes.notetaking.repositories.UserRepo;
+import com.thamienotes.notetaking.securitystuff.CurrentUser;
+import com.thamienotes.notetaking.securitystuff.PasswordHasher;
+import com.thamienotes.notetaking.securitystuff.TokenEpochCache;
 
 @Service
 public class UserService {
     @Autowired UserRepo userRepo;
-    @Autowired PasswordEncoder passwordEncoder;
+    @Autowired PasswordHasher passwordHasher;
+    @Autowired TokenEpochCache tokenEpochCache;
+    @Autowired UserLookupService userLookupService;
+    @Autowired CurrentUser currentUser;
+
     public void addNewUser(UserDto dto){
         Users user = UserMapper.toEntity(dto);
-        user.setPassword(passwordEncoder.encode(dto.getPassword()));
+        user.setPassword(passwordHasher.encode(dto.getPassword()));
         userRepo.save(user);
+        userLookupService.evict(user.getUsername());
+    }
+
+    @Transactional
+    public void replacePasswordHash(Users user, String newHash){
+        if(userRepo.replacePasswordHash(user.getId(), user.getPassword(), newHash) > 0){
+            userLookupService.evict(user.getUsername());
+        }
+    }
+
+    @Transactional
+    public void changePassword(PasswordChangeDto dto){
+        if(dto.getNewPassword() == null || dto.getNewPassword().isBlank()){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "New password is required");
+        }
+        Users user = userRepo.findById(currentUser.getId())
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        if(dto.getCurrentPassword() == null || !passwordHasher.matches(dto.getCurrentPassword(), user.getPassword())){
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Current password is incorrect");
+        }
+        if(userRepo.replacePasswordHash(user.getId(), user.getPassword(), passwordHasher.encode(dto.getNewPassword())) == 0){
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Password was changed concurrently");
+        }
+        revokeTokens(user.getId());
+    }
+
+    @Transactional
+    public void logoutAll(){
+        revokeTokens(currentUser.getId());
+    }
+
+    @Transactional
+    public void revokeTokens(String userId){
+        userRepo.incrementTokenVersion(userId);
+        tokenEpochCache.invalidate(userId);
+        userRepo.findById(userId).ifPresent(user -> userLookupService.evict(user.getUsername()));
     }
 }
@@ -0,0 +1,205 @@
+package db.migration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import com.thamienotes.notetaking.models.BinaryUuidType;
+import com.thamienotes.notetaking.models.CompressedTextConverter;
+import com.thamienotes.notetaking.models.Notes;
+import com.thamienotes.notetaking.models.TimeOrderedIdGenerator;
+
+/**
+ * Upgrades a schema created by the original ddl-auto entities (varchar ids,
+ * note text in notes.content, no note_body/tombstone/note_revision) to the
+ * schema V1 and V2 define. Such databases are baselined at version 2, so this
+ * is the first migration they run; on a database built from V1 it does nothing.
+ */
+public class V3__Upgrade_pre_flyway_schema extends BaseJavaMigration {
+    private static final int BATCH_SIZE = 500;
+    private static final String[] LEGACY_TABLES = { "user", "folder", "notes" };
+    private static final String[] SCHEMA_SCRIPTS = {
+        "db/migration/V1__baseline_schema.sql", "db/migration/V2__hot_query_indexes.sql"
+    };
+    private static final CompressedTextConverter CONVERTER = new CompressedTextConverter();
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (!isPreFlywaySchema(connection)) {
+            return;
+        }
+        checkUniqueUsernames(connection);
+
+        try (Statement statement = connection.createStatement()) {
+            for (String table : LEGACY_TABLES) {
+                statement.execute("alter table " + table + " rename to legacy_" + table);
+            }
+            for (String script : SCHEMA_SCRIPTS) {
+                for (String sql : statements(script)) {
+                    statement.execute(sql);
+                }
+            }
+        }
+
+        copyUsers(connection);
+        copyFolders(connection);
+        copyNotes(connection);
+
+        try (Statement statement = connection.createStatement()) {
+            for (int i = LEGACY_TABLES.length - 1; i >= 0; i--) {
+                statement.execute("drop table legacy_" + LEGACY_TABLES[i]);
+            }
+        }
+    }
+
+    private boolean isPreFlywaySchema(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet notes = metaData.getTables(connection.getCatalog(), connection.getSchema(), "notes", null)) {
+            if (!notes.next()) {
+                return false;
+            }
+        }
+        try (ResultSet bodyId = metaData.getColumns(connection.getCatalog(), connection.getSchema(), "notes", "body_id")) {
+            return !bodyId.next();
+        }
+    }
+
+    private void checkUniqueUsernames(Connection connection) throws SQLException {
+        List<String> duplicates = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select username from user where username is not null"
+                     + " group by username having count(*) > 1")) {
+            while (rs.next()) {
+                duplicates.add(rs.getString(1));
+            }
+        }
+        if (!duplicates.isEmpty()) {
+            throw new FlywayException("Cannot add uk_user_username, these usernames are used more than once: " + duplicates);
+        }
+    }
+
+    private void copyUsers(Connection connection) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("insert into user"
+                + " (id, first_name, last_name, username, password, email, role, token_version, change_seq)"
+                + " values (?, ?, ?, ?, ?, ?, ?, 0, 0)")) {
+            copyInPages(connection, "select id, first_name, last_name, username, password, email, role from legacy_user",
+                    row -> {
+                        insert.setBytes(1, BinaryUuidType.toBytes(row.getString("id")));
+                        insert.setString(2, row.getString("first_name"));
+                        insert.setString(3, row.getString("last_name"));
+                        insert.setString(4, row.getString("username"));
+                        insert.setString(5, row.getString("password"));
+                        insert.setString(6, row.getString("email"));
+                        insert.setString(7, row.getString("role"));
+                        insert.addBatch();
+                    },
+                    insert);
+        }
+    }
+
+    private void copyFolders(Connection connection) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into folder (id, title, change_seq, user_id) values (?, ?, 0, ?)")) {
+            copyInPages(connection, "select id, title, user_id from legacy_folder",
+                    row -> {
+                        insert.setBytes(1, BinaryUuidType.toBytes(row.getString("id")));
+                        insert.setString(2, row.getString("title"));
+                        insert.setBytes(3, BinaryUuidType.toBytes(row.getString("user_id")));
+                        insert.addBatch();
+                    },
+                    insert);
+        }
+    }
+
+    private void copyNotes(Connection connection) throws SQLException {
+        try (PreparedStatement body = connection.prepareStatement("insert into note_body (id, data) values (?, ?)");
+             PreparedStatement insert = connection.prepareStatement("insert into notes"
+                     + " (id, title, body_id, preview, content_length, created_at, updated_at, change_seq, version, user_id, folder_id)"
+                     + " values (?, ?, ?, ?, ?, ?, ?, 0, 0, ?, ?)")) {
+            copyInPages(connection, "select id, title, content, created_at, updated_at, user_id, folder_id from legacy_notes",
+                    row -> {
+                        String content = row.getString("content");
+                        byte[] bodyId = null;
+                        if (content != null) {
+                            bodyId = BinaryUuidType.toBytes(TimeOrderedIdGenerator.next());
+                            body.setBytes(1, bodyId);
+                            body.setBytes(2, CONVERTER.convertToDatabaseColumn(content));
+                            body.addBatch();
+                        }
+                        String folderId = row.getString("folder_id");
+                        insert.setBytes(1, BinaryUuidType.toBytes(row.getString("id")));
+                        insert.setString(2, row.getString("title"));
+                        insert.setBytes(3, bodyId);
+                        insert.setString(4, Notes.previewOf(content));
+                        insert.setInt(5, content == null ? 0 : content.length());
+                        insert.setTimestamp(6, row.getTimestamp("created_at"));
+                        insert.setTimestamp(7, row.getTimestamp("updated_at"));
+                        insert.setBytes(8, BinaryUuidType.toBytes(row.getString("user_id")));
+                        insert.setBytes(9, folderId == null ? null : BinaryUuidType.toBytes(folderId));
+                        insert.addBatch();
+                    },
+                    body, insert);
+        }
+    }
+
+    private void copyInPages(Connection connection, String select, RowCopier copier, PreparedStatement... batches)
+            throws SQLException {
+        String after = "";
+        int rows;
+        try (PreparedStatement page = connection.prepareStatement(select + " where id > ? order by id limit " + BATCH_SIZE)) {
+            do {
+                rows = 0;
+                page.setString(1, after);
+                try (ResultSet rs = page.executeQuery()) {
+                    while (rs.next()) {
+                        after = rs.getString("id");
+                        copier.copy(rs);
+                        rows++;
+                    }
+                }
+                for (PreparedStatement batch : batches) {
+                    batch.executeBatch();
+                }
+            } while (rows == BATCH_SIZE);
+        }
+    }
+
+    private List<String> statements(String script) throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(script)) {
+            if (in == null) {
+                throw new FlywayException("Missing " + script);
+            }
+            StringBuilder sql = new StringBuilder();
+            for (String line : new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+                if (!line.strip().startsWith("--")) {
+                    sql.append(line).append('\n');
+                }
+            }
+            List<String> statements = new ArrayList<>();
+            for (String statement : sql.toString().split(";")) {
+                if (!statement.isBlank()) {
+                    statements.add(statement.strip());
+                }
+            }
+            return statements;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowCopier {
+        void copy(ResultSet row) throws SQLException;
+    }
+}
@@ -0,0 +1,81 @@
+create table user (
+    id binary(16) not null,
+    first_name varchar(255),
+    last_name varchar(255),
+    username varchar(255),
+    password varchar(255),
+    email varchar(255),
+    role varchar(255),
+    token_version integer not null,
+    change_seq bigint not null,
+    primary key (id)
+);
+
+create table note_body (
+    id binary(16) not null,
+    data mediumblob,
+    content mediumtext,
+    primary key (id)
+);
+
+create table folder (
+    id binary(16) not null,
+    title varchar(255),
+    change_seq bigint not null,
+    user_id binary(16) not null,
+    primary key (id)
+);
+
+create table notes (
+    id binary(16) not null,
+    title varchar(255),
+    body_id binary(16),
+    preview varchar(200),
+    content_length integer,
+    created_at datetime(6),
+    updated_at datetime(6),
+    change_seq bigint not null,
+    version bigint not null,
+    user_id binary(16) not null,
+    folder_id binary(16),
+    primary key (id),
+    constraint uk_notes_body unique (body_id)
+);
+
+create table tombstone (
+    id binary(16) not null,
+    user_id binary(16) not null,
+    entity_type varchar(255) not null,
+    entity_id binary(16) not null,
+    change_seq bigint not null,
+    deleted_at datetime(6),
+    primary key (id)
+);
+
+create table note_revision (
+    id binary(16) not null,
+    note_id binary(16) not null,
+    revision_no integer not null,
+    snapshot_no integer not null,
+    depth integer not null,
+    kind varchar(255) not null,
+    title varchar(255),
+    prefix_length integer not null,
+    suffix_length integer not null,
+    payload mediumblob,
+    content_length integer not null,
+    created_at datetime(6),
+    primary key (id),
+    constraint uk_note_revision_note_no unique (note_id, revision_no)
+);
+
+create index idx_notes_user_updated on notes (user_id, updated_at, id);
+create index idx_notes_user_change_seq on notes (user_id, change_seq);
+create index idx_folder_user_change_seq on folder (user_id, change_seq);
+create index idx_tombstone_user_change_seq on tombstone (user_id, change_seq);
+create index idx_note_revision_created on note_revision (created_at);
+
+alter table folder add constraint fk_folder_user foreign key (user_id) references user (id);
+alter table notes add constraint fk_notes_user foreign key (user_id) references user (id);
+alter table notes add constraint fk_notes_folder foreign key (folder_id) references folder (id);
+alter table notes add constraint fk_notes_body foreign key (body_id) references note_body (id);
@@ -0,0 +1,10 @@
+create unique index uk_user_username on user (username);
+
+-- NoteRepo.findFolderedSummariesByUserId / removeFromFolder
+create index idx_notes_folder_user on notes (folder_id, user_id);
+-- NoteRepo.streamWithBodyUpdatedSince (search index catch-up)
+create index idx_notes_updated on notes (updated_at);
+-- FolderRepo.findByUserIdOrderByTitle
+create index idx_folder_user_title on folder (user_id, title);
+-- TombstoneRepo.findByEntityTypeAndDeletedAtGreaterThanEqual
+create index idx_tombstone_type_deleted on tombstone (entity_type, deleted_at);
@@ -0,0 +1,42 @@
+package com.thamienotes.notetaking.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class BenchmarkSupport {
+    private static final String[] WORDS = {
+        "meeting", "project", "draft", "todo", "review", "budget", "release", "notes",
+        "idea", "follow", "client", "design", "sprint", "backlog", "research", "launch"
+    };
+
+    public static String word(SplittableRandom random){
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    public static String text(SplittableRandom random, int length){
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            text.append(word(random));
+            text.append(random.nextInt(12) == 0 ? "\n" : " ");
+        }
+        text.setLength(length);
+        return text.toString();
+    }
+
+    public static long percentile(List<Long> sorted, double quantile){
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(quantile * sorted.size()) - 1));
+    }
+
+    public record Latencies(int count, double p50Millis, double p99Millis) {
+        public static Latencies of(Collection<Long> nanos){
+            List<Long> sorted = new ArrayList<>(nanos);
+            sorted.sort(null);
+            return new Latencies(sorted.size(), percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6);
+        }
+    }
+}
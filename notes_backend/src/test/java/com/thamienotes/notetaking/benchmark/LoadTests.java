@@ -0,0 +1,331 @@
+package com.thamienotes.notetaking.benchmark;
+
+import static com.thamienotes.notetaking.benchmark.BenchmarkSupport.text;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thamienotes.notetaking.NotetakingApplication;
+import com.thamienotes.notetaking.benchmark.BenchmarkSupport.Latencies;
+import com.thamienotes.notetaking.models.Folder;
+import com.thamienotes.notetaking.models.Notes;
+import com.thamienotes.notetaking.models.Users;
+import com.thamienotes.notetaking.repositories.FolderRepo;
+import com.thamienotes.notetaking.repositories.NoteRepo;
+import com.thamienotes.notetaking.repositories.UserRepo;
+import com.thamienotes.notetaking.securitystuff.JwtUtil;
+import com.thamienotes.notetaking.services.NoteSearchService;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Tag("load")
+class LoadTests {
+    private static final int USERS = Integer.getInteger("load.users", 20);
+    private static final int FOLDERS_PER_USER = Integer.getInteger("load.folders-per-user", 5);
+    private static final int NOTES_PER_USER = Integer.getInteger("load.notes-per-user", 200);
+    private static final int NOTE_SIZE = Integer.getInteger("load.note-size", 2000);
+    private static final int CLIENTS = Integer.getInteger("load.clients", 64);
+    private static final long WARMUP_SECONDS = Long.getLong("load.warmup-seconds", 5);
+    private static final long DURATION_SECONDS = Long.getLong("load.duration-seconds", 30);
+    private static final long DB_LATENCY_MS = Long.getLong("load.db-latency-ms", 0);
+    private static final int POOL_SIZE = Integer.getInteger("load.pool-size", 20);
+    private static final int BCRYPT_COST = Integer.getInteger("load.bcrypt-cost", 10);
+    private static final boolean VIRTUAL_THREADS = Boolean.parseBoolean(System.getProperty("load.virtual-threads", "true"));
+    private static final String MIX = System.getProperty("load.mix",
+            "getUserNotesPage:30,getFolderSummaries:12,search:15,suggestTitles:10,getUserNotes:5,getFolders:3,"
+            + "updateNote:10,autosave:8,createNote:5,login:2");
+    private static final String PASSWORD = "load-test-password";
+
+    @Test
+    void mixedWorkloadAgainstEmbeddedDatabase() throws Exception {
+        Path reportDir = Path.of("target", "load-test");
+        Files.createDirectories(reportDir);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(NotetakingApplication.class)
+                .profiles("test")
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + VIRTUAL_THREADS,
+                        "spring.datasource.url=jdbc:h2:mem:load"
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "notes.sql-accounting.on-repeat=log",
+                        "auth.bcrypt.cost=" + BCRYPT_COST,
+                        "notes.search.index-dir=" + reportDir.resolve("index-" + System.nanoTime()))
+                .initializers(ctx -> ctx.getBeanFactory()
+                        .addBeanPostProcessor(new LatencyInjectingDataSourcePostProcessor(DB_LATENCY_MS)))
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<SeededUser> users = seed(context);
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            AtomicReference<Map<String, SqlTotals>> sqlAtWarmup = new AtomicReference<>(sqlTotals(meterRegistry));
+            Workload workload = new Workload("http://localhost:" + port, context.getBean(ObjectMapper.class));
+            Map<String, Function<Client, HttpRequest>> operations = workload.operations();
+            List<String> schedule = schedule(operations.keySet());
+
+            Map<String, EndpointStats> stats = new LinkedHashMap<>();
+            operations.keySet().forEach(name -> stats.put(name, new EndpointStats()));
+
+            long start = System.nanoTime();
+            long measureFrom = start + Duration.ofSeconds(WARMUP_SECONDS).toNanos();
+            long deadline = measureFrom + Duration.ofSeconds(DURATION_SECONDS).toNanos();
+            AtomicInteger warmupClients = new AtomicInteger(CLIENTS);
+            try (HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+                 ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < CLIENTS; c++) {
+                    Client client = new Client(users.get(c % users.size()), new SplittableRandom(c));
+                    clients.submit(() -> {
+                        boolean warm = false;
+                        long now;
+                        while ((now = System.nanoTime()) < deadline) {
+                            if (!warm && now >= measureFrom) {
+                                warm = true;
+                                if (warmupClients.decrementAndGet() == 0) {
+                                    sqlAtWarmup.set(sqlTotals(meterRegistry));
+                                }
+                            }
+                            String name = schedule.get(client.random().nextInt(schedule.size()));
+                            HttpRequest request = operations.get(name).apply(client);
+                            long sent = System.nanoTime();
+                            int status;
+                            try {
+                                status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            } catch (IOException e) {
+                                status = -1;
+                            }
+                            if (warm) {
+                                stats.get(name).record(System.nanoTime() - sent, status);
+                            }
+                        }
+                        return null;
+                    });
+                }
+            }
+
+            String report = report(stats, sqlSince(sqlAtWarmup.get(), sqlTotals(meterRegistry)));
+            System.out.println(report);
+            Files.writeString(reportDir.resolve("report-" + System.currentTimeMillis() + ".txt"), report);
+
+            stats.forEach((name, endpoint) -> assertThat(endpoint.errors.get()).as(name + " errors").isZero());
+        }
+    }
+
+    private List<SeededUser> seed(ConfigurableApplicationContext context) {
+        UserRepo userRepo = context.getBean(UserRepo.class);
+        FolderRepo folderRepo = context.getBean(FolderRepo.class);
+        NoteRepo noteRepo = context.getBean(NoteRepo.class);
+        NoteSearchService searchService = context.getBean(NoteSearchService.class);
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        String passwordHash = new BCryptPasswordEncoder(BCRYPT_COST).encode(PASSWORD);
+        SplittableRandom random = new SplittableRandom(42);
+
+        List<SeededUser> seeded = new ArrayList<>(USERS);
+        for (int u = 0; u < USERS; u++) {
+            Users user = new Users();
+            user.setUsername("load-user-" + u);
+            user.setPassword(passwordHash);
+            user.setRole("USER");
+            userRepo.save(user);
+
+            List<Folder> folders = new ArrayList<>(FOLDERS_PER_USER);
+            for (int f = 0; f < FOLDERS_PER_USER; f++) {
+                Folder folder = new Folder();
+                folder.setTitle(text(random, 24));
+                folder.setUser(user);
+                folders.add(folder);
+            }
+            folderRepo.saveAll(folders);
+
+            List<Notes> notes = new ArrayList<>(NOTES_PER_USER);
+            for (int n = 0; n < NOTES_PER_USER; n++) {
+                Notes note = new Notes();
+                note.setTitle(text(random, 40));
+                note.setContent(text(random, NOTE_SIZE));
+                note.setUser(user);
+                if (!folders.isEmpty() && n % 2 == 0) {
+                    note.setFolder(folders.get(n % folders.size()));
+                }
+                notes.add(note);
+            }
+            noteRepo.saveAll(notes);
+            notes.forEach(searchService::index);
+
+            seeded.add(new SeededUser(user.getUsername(), jwtUtil.generateToken(user),
+                    notes.stream().map(Notes::getId).toList()));
+        }
+        return seeded;
+    }
+
+    private List<String> schedule(Iterable<String> operations) {
+        List<String> schedule = new ArrayList<>();
+        for (String entry : MIX.split(",")) {
+            String[] parts = entry.trim().split(":");
+            String name = parts[0];
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            boolean known = false;
+            for (String operation : operations) {
+                known |= operation.equals(name);
+            }
+            if (!known) {
+                throw new IllegalArgumentException("Unknown load.mix operation " + name);
+            }
+            for (int i = 0; i < weight; i++) {
+                schedule.add(name);
+            }
+        }
+        return schedule;
+    }
+
+    private String report(Map<String, EndpointStats> stats, Map<String, SqlTotals> sql) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%nusers=%d folders/user=%d notes/user=%d note-size=%d clients=%d duration=%ds db-latency=%dms virtual-threads=%s%n",
+                USERS, FOLDERS_PER_USER, NOTES_PER_USER, NOTE_SIZE, CLIENTS, DURATION_SECONDS, DB_LATENCY_MS, VIRTUAL_THREADS));
+        report.append(String.format("%-18s %9s %8s %9s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "conflicts", "req/s", "p50 ms", "p99 ms"));
+        long total = 0;
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpoint = entry.getValue();
+            Latencies latencies = Latencies.of(endpoint.latencies);
+            total += latencies.count();
+            report.append(String.format("%-18s %9d %8d %9d %10.1f %10.2f %10.2f%n",
+                    entry.getKey(), latencies.count(), endpoint.errors.get(), endpoint.conflicts.get(),
+                    latencies.count() / (double) DURATION_SECONDS, latencies.p50Millis(), latencies.p99Millis()));
+        }
+        report.append(String.format("%-18s %9d %8s %9s %10.1f%n", "total", total, "", "", total / (double) DURATION_SECONDS));
+
+        report.append(String.format("%n%-40s %9s %9s%n", "notes.sql.statements", "requests", "sql/req"));
+        sql.forEach((uri, totals) -> report.append(String.format("%-40s %9d %9.2f%n",
+                uri, totals.requests(), totals.requests() == 0 ? 0.0 : totals.statements() / totals.requests())));
+        return report.toString();
+    }
+
+    private static Map<String, SqlTotals> sqlTotals(MeterRegistry meterRegistry) {
+        Map<String, SqlTotals> totals = new TreeMap<>();
+        for (DistributionSummary summary : meterRegistry.find("notes.sql.statements").summaries()) {
+            totals.put(summary.getId().getTag("method") + " " + summary.getId().getTag("uri"),
+                    new SqlTotals(summary.count(), summary.totalAmount()));
+        }
+        return totals;
+    }
+
+    private static Map<String, SqlTotals> sqlSince(Map<String, SqlTotals> before, Map<String, SqlTotals> after) {
+        Map<String, SqlTotals> delta = new TreeMap<>();
+        after.forEach((uri, totals) -> {
+            SqlTotals previous = before.getOrDefault(uri, new SqlTotals(0, 0));
+            if (totals.requests() > previous.requests()) {
+                delta.put(uri, new SqlTotals(totals.requests() - previous.requests(), totals.statements() - previous.statements()));
+            }
+        });
+        return delta;
+    }
+
+    private record SqlTotals(long requests, double statements) {}
+
+    private record SeededUser(String username, String token, List<String> noteIds) {}
+
+    private record Client(SeededUser user, SplittableRandom random) {
+        String noteId() {
+            return user.noteIds().get(random.nextInt(user.noteIds().size()));
+        }
+
+        String word() {
+            return BenchmarkSupport.word(random);
+        }
+    }
+
+    private static class EndpointStats {
+        final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        final AtomicInteger errors = new AtomicInteger();
+        final AtomicInteger conflicts = new AtomicInteger();
+
+        void record(long nanos, int status) {
+            latencies.add(nanos);
+            if (status == 409) {
+                conflicts.incrementAndGet();
+            } else if (status < 200 || status >= 400) {
+                errors.incrementAndGet();
+            }
+        }
+    }
+
+    private static class Workload {
+        private final String baseUrl;
+        private final ObjectMapper objectMapper;
+
+        Workload(String baseUrl, ObjectMapper objectMapper) {
+            this.baseUrl = baseUrl;
+            this.objectMapper = objectMapper;
+        }
+
+        Map<String, Function<Client, HttpRequest>> operations() {
+            Map<String, Function<Client, HttpRequest>> operations = new LinkedHashMap<>();
+            operations.put("getUserNotesPage", client -> get(client, "/note/getUserNotesPage?size=50"));
+            operations.put("getUserNotes", client -> get(client, "/note/getUserNotes"));
+            operations.put("getFolders", client -> get(client, "/folder/getFolders"));
+            operations.put("getFolderSummaries", client -> get(client, "/folder/getFolderSummaries"));
+            operations.put("search", client -> get(client, "/note/search?q=" + client.word() + "+" + client.word()));
+            operations.put("suggestTitles", client -> get(client, "/note/suggestTitles?prefix=" + client.word().substring(0, 3)));
+            operations.put("updateNote", client -> send(client, "PUT", "/note/updateNote/" + client.noteId(),
+                    Map.of("title", text(client.random(), 40), "content", text(client.random(), NOTE_SIZE))));
+            operations.put("autosave", client -> send(client, "PUT", "/note/autosave/" + client.noteId(),
+                    Map.of("title", text(client.random(), 40), "content", text(client.random(), NOTE_SIZE))));
+            operations.put("createNote", client -> send(client, "POST", "/note/createNote",
+                    Map.of("title", text(client.random(), 40), "content", text(client.random(), NOTE_SIZE))));
+            operations.put("login", client -> send(null, "POST", "/auth/login",
+                    Map.of("username", client.user().username(), "password", PASSWORD)));
+            return operations;
+        }
+
+        private HttpRequest get(Client client, String path) {
+            return builder(client, path).GET().build();
+        }
+
+        private HttpRequest send(Client client, String method, String path, Object body) {
+            try {
+                return builder(client, path)
+                        .header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                        .build();
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private HttpRequest.Builder builder(Client client, String path) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30));
+            if (client != null) {
+                builder.header("Authorization", "Bearer " + client.user().token());
+            }
+            return builder;
+        }
+    }
+}
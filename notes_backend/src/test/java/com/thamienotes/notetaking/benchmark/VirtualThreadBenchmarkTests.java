@@ -0,0 +1,129 @@
+package com.thamienotes.notetaking.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.thamienotes.notetaking.NotetakingApplication;
+import com.thamienotes.notetaking.benchmark.BenchmarkSupport.Latencies;
+import com.thamienotes.notetaking.models.Notes;
+import com.thamienotes.notetaking.models.Users;
+import com.thamienotes.notetaking.repositories.NoteRepo;
+import com.thamienotes.notetaking.repositories.UserRepo;
+import com.thamienotes.notetaking.securitystuff.JwtUtil;
+
+@Tag("benchmark")
+class VirtualThreadBenchmarkTests {
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 400);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("benchmark.requests-per-client", 25);
+    private static final int NOTES = Integer.getInteger("benchmark.notes", 200);
+    private static final long DB_LATENCY_MS = Long.getLong("benchmark.db-latency-ms", 5);
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.pool-size", 100);
+
+    @Test
+    void virtualThreadsVersusPlatformThreadsOnBlockingJdbc() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%n%-9s %12s %10s %10s %8s%n", "mode", "req/s", "p50 ms", "p99 ms", "errors");
+        System.out.println(platform);
+        System.out.println(virtual);
+
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(NotetakingApplication.class)
+                .profiles("test")
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + mode
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "notes.search.index-dir=target/search-index-bench-" + mode)
+                .initializers(ctx -> ctx.getBeanFactory()
+                        .addBeanPostProcessor(new LatencyInjectingDataSourcePostProcessor(DB_LATENCY_MS)))
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String token = seed(context);
+            URI uri = URI.create("http://localhost:" + port + "/note/getUserNotesPage?size=50");
+
+            ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+            AtomicInteger errors = new AtomicInteger();
+            long start = System.nanoTime();
+            try (HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+                 ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < CLIENTS; c++) {
+                    clients.submit(() -> {
+                        HttpRequest request = HttpRequest.newBuilder(uri).header("Authorization", "Bearer " + token).build();
+                        for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                            long sent = System.nanoTime();
+                            try {
+                                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                                if (response.statusCode() != 200) {
+                                    errors.incrementAndGet();
+                                }
+                            } catch (Exception e) {
+                                errors.incrementAndGet();
+                            }
+                            latencies.add(System.nanoTime() - sent);
+                        }
+                        return null;
+                    });
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            return Result.of(mode, List.copyOf(latencies), elapsed, errors.get());
+        }
+    }
+
+    private String seed(ConfigurableApplicationContext context) {
+        Users user = new Users();
+        user.setUsername("bench");
+        user.setPassword("unused");
+        user.setRole("USER");
+        context.getBean(UserRepo.class).save(user);
+
+        List<Notes> notes = new ArrayList<>(NOTES);
+        for (int i = 0; i < NOTES; i++) {
+            Notes note = new Notes();
+            note.setTitle("Benchmark note " + i);
+            note.setContent("Line of benchmark content " + i + "\n".repeat(3));
+            note.setUser(user);
+            notes.add(note);
+        }
+        context.getBean(NoteRepo.class).saveAll(notes);
+        return context.getBean(JwtUtil.class).generateToken(user);
+    }
+
+    private record Result(String mode, double throughput, Latencies latencies, int errors) {
+        static Result of(String mode, List<Long> latencies, long elapsedNanos, int errors) {
+            return new Result(mode, latencies.size() / (elapsedNanos / 1e9), Latencies.of(latencies), errors);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-9s %12.1f %10.2f %10.2f %8d",
+                    mode, throughput, latencies.p50Millis(), latencies.p99Millis(), errors);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.thamienotes.notetaking.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.thamienotes.notetaking.models.BinaryUuidType;
+import com.thamienotes.notetaking.models.CompressedTextConverter;
+import com.thamienotes.notetaking.models.Notes;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SchemaMigrationTests {
+    @Autowired Flyway flyway;
+    @Autowired DataSource dataSource;
+
+    @Test
+    void allMigrationsAreApplied() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("3");
+    }
+
+    @Test
+    void hotQueryIndexesExist() throws SQLException {
+        assertThat(indexes("notes")).contains("idx_notes_user_updated", "idx_notes_user_change_seq",
+                "idx_notes_folder_user", "idx_notes_updated");
+        assertThat(indexes("folder")).contains("idx_folder_user_change_seq", "idx_folder_user_title");
+        assertThat(indexes("tombstone")).contains("idx_tombstone_user_change_seq", "idx_tombstone_type_deleted");
+        assertThat(indexes("user")).contains("uk_user_username");
+        assertThat(indexes("note_revision")).contains("uk_note_revision_note_no");
+    }
+
+    @Test
+    void upgradesPreFlywaySchemaToTheBaseline() throws SQLException {
+        DataSource legacy = database("legacy");
+        JdbcTemplate jdbc = new JdbcTemplate(legacy);
+        jdbc.execute("create table user (id varchar(255) not null, email varchar(255), first_name varchar(255),"
+                + " last_name varchar(255), password varchar(255), role varchar(255), username varchar(255), primary key (id))");
+        jdbc.execute("create table folder (id varchar(255) not null, title varchar(255), user_id varchar(255) not null,"
+                + " primary key (id))");
+        jdbc.execute("create table notes (id varchar(255) not null, content mediumtext, created_at datetime(6),"
+                + " title varchar(255), updated_at datetime(6), folder_id varchar(255), user_id varchar(255) not null,"
+                + " primary key (id))");
+        jdbc.execute("alter table folder add constraint fk_legacy_folder_user foreign key (user_id) references user (id)");
+        jdbc.execute("alter table notes add constraint fk_legacy_notes_user foreign key (user_id) references user (id)");
+        jdbc.execute("alter table notes add constraint fk_legacy_notes_folder foreign key (folder_id) references folder (id)");
+
+        String userId = UUID.randomUUID().toString();
+        String folderId = UUID.randomUUID().toString();
+        String filedId = UUID.randomUUID().toString();
+        String looseId = UUID.randomUUID().toString();
+        String longContent = "meeting notes ".repeat(200);
+        jdbc.update("insert into user (id, username, password, role) values (?, 'legacy', 'hash', 'USER')", userId);
+        jdbc.update("insert into folder (id, title, user_id) values (?, 'Work', ?)", folderId, userId);
+        jdbc.update("insert into notes (id, title, content, created_at, updated_at, user_id, folder_id)"
+                + " values (?, 'Filed', ?, current_timestamp, current_timestamp, ?, ?)", filedId, longContent, userId, folderId);
+        jdbc.update("insert into notes (id, title, content, created_at, updated_at, user_id)"
+                + " values (?, 'Loose', null, current_timestamp, current_timestamp, ?)", looseId, userId);
+
+        Flyway.configure().dataSource(legacy).locations("classpath:db/migration")
+                .baselineOnMigrate(true).baselineVersion("2").load().migrate();
+        DataSource fresh = database("fresh");
+        Flyway.configure().dataSource(fresh).locations("classpath:db/migration").load().migrate();
+
+        for (String table : List.of("user", "folder", "notes", "note_body", "tombstone", "note_revision")) {
+            assertThat(namedIndexes(legacy, table)).as(table + " indexes").isEqualTo(namedIndexes(fresh, table));
+            assertThat(foreignKeys(legacy, table)).as(table + " foreign keys").isEqualTo(foreignKeys(fresh, table));
+        }
+        assertThat(namedIndexes(legacy, "user")).contains("uk_user_username");
+        assertThat(tables(legacy)).noneMatch(table -> table.startsWith("legacy_"));
+
+        Map<String, Object> filed = jdbc.queryForMap("select n.title, n.preview, n.content_length, n.folder_id, b.data"
+                + " from notes n join note_body b on b.id = n.body_id where n.id = ?", BinaryUuidType.toBytes(filedId));
+        assertThat(new CompressedTextConverter().convertToEntityAttribute((byte[]) filed.get("data"))).isEqualTo(longContent);
+        assertThat(filed.get("preview")).isEqualTo(Notes.previewOf(longContent));
+        assertThat(filed.get("content_length")).isEqualTo(longContent.length());
+        assertThat((byte[]) filed.get("folder_id")).isEqualTo(BinaryUuidType.toBytes(folderId));
+        assertThat(jdbc.queryForObject("select count(*) from notes where id = ? and body_id is null and content_length = 0",
+                Integer.class, BinaryUuidType.toBytes(looseId))).isEqualTo(1);
+        assertThat(jdbc.queryForObject("select username from user where id = ?", String.class,
+                BinaryUuidType.toBytes(userId))).isEqualTo("legacy");
+    }
+
+    private DataSource database(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + System.nanoTime()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private Set<String> namedIndexes(DataSource source, String table) throws SQLException {
+        Set<String> names = new TreeSet<>();
+        for (String name : indexes(source, table)) {
+            if (name.startsWith("idx_") || name.startsWith("uk_")) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    private Set<String> foreignKeys(DataSource source, String table) throws SQLException {
+        Set<String> names = new TreeSet<>();
+        try (Connection connection = source.getConnection();
+             ResultSet rs = connection.getMetaData().getImportedKeys(connection.getCatalog(), connection.getSchema(), table)) {
+            while (rs.next()) {
+                names.add(rs.getString("FK_NAME").toLowerCase());
+            }
+        }
+        return names;
+    }
+
+    private Set<String> tables(DataSource source) throws SQLException {
+        Set<String> names = new TreeSet<>();
+        try (Connection connection = source.getConnection();
+             ResultSet rs = connection.getMetaData().getTables(connection.getCatalog(), connection.getSchema(), null,
+                     new String[] { "TABLE" })) {
+            while (rs.next()) {
+                names.add(rs.getString("TABLE_NAME").toLowerCase());
+            }
+        }
+        return names;
+    }
+
+    private Set<String> indexes(String table) throws SQLException {
+        return indexes(dataSource, table);
+    }
+
+    private Set<String> indexes(DataSource source, String table) throws SQLException {
+        Set<String> names = new HashSet<>();
+        try (Connection connection = source.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null, table, false, false)) {
+                while (rs.next()) {
+                    String name = rs.getString("INDEX_NAME");
+                    if (name != null) {
+                        names.add(name.toLowerCase());
+                    }
+                }
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,183 @@
+package com.thamienotes.notetaking.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.thamienotes.notetaking.models.Notes;
+import com.thamienotes.notetaking.models.Users;
+import com.thamienotes.notetaking.repositories.NoteRepo;
+import com.thamienotes.notetaking.repositories.UserRepo;
+import com.thamienotes.notetaking.securitystuff.AuthenticatedUser;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlAccountingFilterTests {
+    @Autowired SqlAccountingFilter sqlAccountingFilter;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired MockMvc mockMvc;
+    @Autowired UserRepo userRepo;
+    @Autowired NoteRepo noteRepo;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void recordsStatementsAndRowsPerEndpoint() throws Exception {
+        sqlAccountingFilter.doFilter(request("/test/distinct"), new MockHttpServletResponse(),
+                queries("select count(*) from notes", "select count(*) from folder",
+                        "select count(*) from tombstone"));
+
+        DistributionSummary statements = meterRegistry.get("notes.sql.statements").tag("uri", "/test/distinct").summary();
+        DistributionSummary rows = meterRegistry.get("notes.sql.rows").tag("uri", "/test/distinct").summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(3);
+        assertThat(rows.totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("notes.sql.time").tag("uri", "/test/distinct").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failsWhenOneRequestRepeatsAQueryShape() {
+        assertThatThrownBy(() -> sqlAccountingFilter.doFilter(request("/test/repeated"), new MockHttpServletResponse(),
+                        queries(repeated(10))))
+                .isInstanceOf(RepeatedQueryException.class)
+                .hasMessageContaining("GET /test/repeated")
+                .hasMessageContaining("10 times");
+        assertThat(meterRegistry.get("notes.sql.repeated").tag("uri", "/test/repeated").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failsWhileTheHandlerRunsBeforeAnythingIsWritten() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain queriesThenWrite = (request, res) -> {
+            queries(repeated(12)).doFilter(request, res);
+            res.getWriter().write("too late");
+        };
+
+        assertThatThrownBy(() -> sqlAccountingFilter.doFilter(request("/test/early"), response, queriesThenWrite))
+                .isInstanceOf(RepeatedQueryException.class);
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void repositoryCallsSurfaceTheViolationAndRollBack() {
+        String username = "repeater-" + UUID.randomUUID();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        FilterChain repositoryLoop = (request, response) -> transaction.executeWithoutResult(status -> {
+            Users user = new Users();
+            user.setUsername(username);
+            user.setPassword("password");
+            user.setRole("USER");
+            userRepo.saveAndFlush(user);
+            for (int i = 0; i < 10; i++) {
+                noteRepo.findById(UUID.randomUUID().toString());
+            }
+        });
+
+        assertThatThrownBy(() -> sqlAccountingFilter.doFilter(request("/test/jpa"), new MockHttpServletResponse(), repositoryLoop))
+                .isInstanceOf(RepeatedQueryException.class)
+                .hasMessageContaining("10 times");
+        assertThat(userRepo.findByUsername(username)).isEmpty();
+    }
+
+    @Test
+    void logModeCountsRepeatsWithoutFailing() throws Exception {
+        String onRepeat = sqlAccountingFilter.onRepeat;
+        sqlAccountingFilter.onRepeat = "log";
+        try {
+            sqlAccountingFilter.doFilter(request("/test/logged"), new MockHttpServletResponse(), queries(repeated(12)));
+        } finally {
+            sqlAccountingFilter.onRepeat = onRepeat;
+        }
+
+        assertThat(meterRegistry.get("notes.sql.repeated").tag("uri", "/test/logged").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notes.sql.statements").tag("uri", "/test/logged").summary().totalAmount()).isEqualTo(12);
+    }
+
+    @Test
+    void countsQueriesRunWhileAStreamedExportIsWritten() throws Exception {
+        Users user = new Users();
+        user.setUsername("exporter-" + UUID.randomUUID());
+        user.setPassword("password");
+        user.setRole("USER");
+        user = userRepo.save(user);
+        for (int i = 0; i < 5; i++) {
+            Notes note = new Notes();
+            note.setTitle("Exported " + i);
+            note.setContent("body " + i);
+            note.setUser(user);
+            noteRepo.save(note);
+        }
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getUsername(), "ROLE_USER");
+        try {
+            MvcResult started = mockMvc.perform(get("/note/exportNotes").param("format", "ndjson")
+                            .with(authentication(new UsernamePasswordAuthenticationToken(
+                                    principal, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))))))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        } finally {
+            userRepo.deleteById(user.getId());
+        }
+
+        DistributionSummary rows = meterRegistry.get("notes.sql.rows").tag("uri", "/note/exportNotes").summary();
+        assertThat(rows.count()).isEqualTo(1);
+        assertThat(rows.totalAmount()).isGreaterThanOrEqualTo(5);
+    }
+
+    @Test
+    void normalizesLiteralsAndParameterLists() {
+        assertThat(RequestSqlStats.shapeOf("select * from notes  where id in (?, ?,?) and title = 'it''s' and n > 42"))
+                .isEqualTo("select * from notes where id in (?) and title = ? and n > ?");
+    }
+
+    private MockHttpServletRequest request(String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+
+    private FilterChain queries(String... sql) {
+        return (request, response) -> {
+            for (String statement : sql) {
+                jdbcTemplate.queryForObject(statement, Long.class);
+            }
+        };
+    }
+
+    private String[] repeated(int count) {
+        String[] sql = new String[count];
+        for (int i = 0; i < count; i++) {
+            sql[i] = "select count(*) from notes where content_length > " + i;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,35 @@
+package com.thamienotes.notetaking.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class CompressedTextConverterTests {
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Test
+    void smallTextIsStoredRaw() {
+        byte[] data = converter.convertToDatabaseColumn("short note ✓");
+
+        assertThat(data[0]).isEqualTo(CompressedTextConverter.FORMAT_RAW);
+        assertThat(converter.convertToEntityAttribute(data)).isEqualTo("short note ✓");
+    }
+
+    @Test
+    void largeRepetitiveTextIsDeflated() {
+        String log = "2024-01-01 12:00:00 INFO request handled in 3ms\n".repeat(500);
+
+        byte[] data = converter.convertToDatabaseColumn(log);
+
+        assertThat(data[0]).isEqualTo(CompressedTextConverter.FORMAT_DEFLATE);
+        assertThat(data.length).isLessThan(log.length() / 5);
+        assertThat(converter.convertToEntityAttribute(data)).isEqualTo(log);
+    }
+
+    @Test
+    void nullAndEmptyRoundTrip() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(""))).isEmpty();
+    }
+}
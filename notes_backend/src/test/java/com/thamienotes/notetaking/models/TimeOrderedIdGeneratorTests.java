@@ -0,0 +1,37 @@
+package com.thamienotes.notetaking.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedIdGeneratorTests {
+
+    @Test
+    void generatesVersion7Uuids() {
+        UUID uuid = UUID.fromString(TimeOrderedIdGenerator.next());
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void laterIdsSortAfterEarlierOnesAsBytes() {
+        byte[] earlier = BinaryUuidType.toBytes(TimeOrderedIdGenerator.nextUuid(1_700_000_000_000L).toString());
+        byte[] later = BinaryUuidType.toBytes(TimeOrderedIdGenerator.nextUuid(1_700_000_000_001L).toString());
+
+        assertThat(Arrays.compareUnsigned(earlier, later)).isNegative();
+    }
+
+    @Test
+    void binaryFormRoundTrips() {
+        String id = TimeOrderedIdGenerator.next();
+
+        byte[] bytes = BinaryUuidType.toBytes(id);
+
+        assertThat(bytes).hasSize(BinaryUuidType.LENGTH);
+        assertThat(BinaryUuidType.toString(bytes)).isEqualTo(id);
+    }
+}
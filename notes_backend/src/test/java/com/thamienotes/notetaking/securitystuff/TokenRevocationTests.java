@@ -0,0 +1,94 @@
+package com.thamienotes.notetaking.securitystuff;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thamienotes.notetaking.models.Users;
+import com.thamienotes.notetaking.repositories.UserRepo;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class TokenRevocationTests {
+    @Autowired MockMvc mockMvc;
+    @Autowired JwtUtil jwtUtil;
+    @Autowired PasswordHasher passwordHasher;
+    @Autowired UserRepo userRepo;
+    @Autowired EntityManager entityManager;
+
+    @Test
+    void logoutAllRejectsTokensIssuedBeforeIt() throws Exception {
+        Users user = seedUser("everywhere");
+        String before = bearer(user);
+        mockMvc.perform(get("/note/getUserNotes").header(HttpHeaders.AUTHORIZATION, before))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/user/logoutAll").header(HttpHeaders.AUTHORIZATION, before))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/note/getUserNotes").header(HttpHeaders.AUTHORIZATION, before))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/note/getUserNotes").header(HttpHeaders.AUTHORIZATION, bearer(reload(user))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void passwordChangeRejectsTokensIssuedBeforeIt() throws Exception {
+        Users user = seedUser("rotator");
+        String before = bearer(user);
+
+        mockMvc.perform(put("/user/changePassword").header(HttpHeaders.AUTHORIZATION, before)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentPassword\":\"password\",\"newPassword\":\"correct horse\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/note/getUserNotes").header(HttpHeaders.AUTHORIZATION, before))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void passwordChangeNeedsTheCurrentPassword() throws Exception {
+        Users user = seedUser("guessed");
+        String before = bearer(user);
+
+        mockMvc.perform(put("/user/changePassword").header(HttpHeaders.AUTHORIZATION, before)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentPassword\":\"wrong\",\"newPassword\":\"correct horse\"}"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/note/getUserNotes").header(HttpHeaders.AUTHORIZATION, before))
+                .andExpect(status().isOk());
+    }
+
+    private Users seedUser(String username) {
+        Users user = new Users();
+        user.setUsername(username);
+        user.setPassword(passwordHasher.encode("password"));
+        user.setRole("USER");
+        return userRepo.saveAndFlush(user);
+    }
+
+    private Users reload(Users user) {
+        entityManager.clear();
+        return userRepo.findById(user.getId()).orElseThrow();
+    }
+
+    private String bearer(Users user) {
+        return "Bearer " + jwtUtil.generateToken(user);
+    }
+}
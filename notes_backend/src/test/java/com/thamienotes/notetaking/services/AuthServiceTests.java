@@ -0,0 +1,65 @@
+package com.thamienotes.notetaking.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import com.thamienotes.notetaking.dtos.Auth.AuthDto;
+import com.thamienotes.notetaking.models.Users;
+
+@TestPropertySource(properties = "auth.bcrypt.cost=5")
+class AuthServiceTests extends ServiceTestSupport {
+    @Autowired AuthService authService;
+    @Autowired UserService userService;
+    @Autowired UserLookupService userLookupService;
+    @Autowired CacheManager cacheManager;
+
+    @Test
+    void loginUpgradesLowCostHashAndEvictsCachedUser() {
+        Users user = seedUser("upgrader");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password"));
+        userRepo.saveAndFlush(user);
+        userLookupService.findByUsername("upgrader");
+        assertThat(cachedUser("upgrader")).isNotNull();
+
+        authService.authLogin(login("upgrader", "password"));
+        entityManager.clear();
+
+        String stored = userRepo.findById(user.getId()).orElseThrow().getPassword();
+        assertThat(stored).startsWith("$2a$05$");
+        assertThat(new BCryptPasswordEncoder().matches("password", stored)).isTrue();
+        assertThat(cachedUser("upgrader")).isNull();
+    }
+
+    @Test
+    void replacePasswordHashLeavesConcurrentlyChangedHashAlone() {
+        Users user = seedUser("racer");
+        userRepo.saveAndFlush(user);
+        userLookupService.findByUsername("racer");
+
+        Users stale = new Users();
+        stale.setId(user.getId());
+        stale.setUsername("racer");
+        stale.setPassword("hash-read-before-a-password-change");
+        userService.replacePasswordHash(stale, "upgraded-hash");
+        entityManager.clear();
+
+        assertThat(userRepo.findById(user.getId()).orElseThrow().getPassword()).isEqualTo("password");
+        assertThat(cachedUser("racer")).isNotNull();
+    }
+
+    private Object cachedUser(String username) {
+        return cacheManager.getCache(UserLookupService.USERS_BY_USERNAME).get(username);
+    }
+
+    private AuthDto login(String username, String password) {
+        AuthDto dto = new AuthDto();
+        dto.setUsername(username);
+        dto.setPassword(password);
+        return dto;
+    }
+}
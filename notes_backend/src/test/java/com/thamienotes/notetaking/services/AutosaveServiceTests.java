@@ -0,0 +1,100 @@
+package com.thamienotes.notetaking.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.thamienotes.notetaking.dtos.Note.NoteDetailsDto;
+import com.thamienotes.notetaking.dtos.Note.NoteFolderDto;
+import com.thamienotes.notetaking.models.Folder;
+import com.thamienotes.notetaking.models.Notes;
+import com.thamienotes.notetaking.models.Users;
+import com.thamienotes.notetaking.repositories.FolderRepo;
+
+class AutosaveServiceTests extends ServiceTestSupport {
+    @Autowired AutosaveService autosaveService;
+    @Autowired NoteService noteService;
+    @Autowired FolderRepo folderRepo;
+
+    @Test
+    void movingANoteDoesNotDropItsPendingAutosave() {
+        Users user = seedUser("typist");
+        Notes note = seedNote(user, "Draft", "first words");
+        Folder folder = new Folder();
+        folder.setTitle("Archive");
+        folder.setUser(user);
+        folderRepo.save(folder);
+        authenticate(user);
+
+        autosaveService.enqueue(user.getId(), note.getId(), details("Draft", "first words and then some more"));
+
+        NoteFolderDto move = new NoteFolderDto();
+        move.setFolderId(folder.getId());
+        move.setNoteIds(List.of(note.getId()));
+        noteService.addNoteToFolder(move);
+        entityManager.flush();
+        entityManager.clear();
+
+        autosaveService.flushUser(user.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        Notes stored = noteRepo.findById(note.getId()).orElseThrow();
+        assertThat(stored.getContent()).isEqualTo("first words and then some more");
+        assertThat(stored.getFolder().getId()).isEqualTo(folder.getId());
+        assertThat(autosaveService.hasPending(note.getId())).isFalse();
+    }
+
+    @Test
+    void pendingVersionTracksTheNewestEditUntilNothingIsPending() {
+        Users user = seedUser("drafter");
+        Notes first = seedNote(user, "One", "one");
+        Notes second = seedNote(user, "Two", "two");
+        Notes unrelated = seedNote(seedUser("neighbour"), "Other", "other");
+        assertThat(autosaveService.pendingVersion(user.getId())).isZero();
+
+        autosaveService.enqueue(user.getId(), first.getId(), details("One", "one more"));
+        long afterFirst = autosaveService.pendingVersion(user.getId());
+        autosaveService.enqueue(user.getId(), second.getId(), details("Two", "two more"));
+        long afterSecond = autosaveService.pendingVersion(user.getId());
+        autosaveService.enqueue(unrelated.getUser().getId(), unrelated.getId(), details("Other", "other more"));
+        autosaveService.enqueue(user.getId(), first.getId(), details("One", "one more still"));
+        long afterRetype = autosaveService.pendingVersion(user.getId());
+
+        assertThat(afterFirst).isPositive();
+        assertThat(afterSecond).isGreaterThan(afterFirst);
+        assertThat(afterRetype).isGreaterThan(afterSecond);
+
+        autosaveService.discard(second.getId());
+        assertThat(autosaveService.pendingVersion(user.getId())).isEqualTo(afterRetype);
+        autosaveService.discard(first.getId());
+        assertThat(autosaveService.pendingVersion(user.getId())).isZero();
+        assertThat(autosaveService.pendingVersion(unrelated.getUser().getId())).isPositive();
+        autosaveService.discard(unrelated.getId());
+    }
+
+    @Test
+    void explicitSaveSupersedesPendingAutosave() {
+        Users user = seedUser("saver");
+        Notes note = seedNote(user, "Draft", "first words");
+        authenticate(user);
+
+        autosaveService.enqueue(user.getId(), note.getId(), details("Draft", "autosaved words"));
+        noteService.updateNote(note.getId(), details("Draft", "saved words"));
+        autosaveService.flushUser(user.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(noteRepo.findById(note.getId()).orElseThrow().getContent()).isEqualTo("saved words");
+    }
+
+    private NoteDetailsDto details(String title, String content) {
+        NoteDetailsDto dto = new NoteDetailsDto();
+        dto.setTitle(title);
+        dto.setContent(content);
+        return dto;
+    }
+}
@@ -0,0 +1,98 @@
+package com.thamienotes.notetaking.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.thamienotes.notetaking.dtos.Folder.FolderDetailsDto;
+import com.thamienotes.notetaking.dtos.Folder.FolderSummaryDto;
+import com.thamienotes.notetaking.models.Folder;
+import com.thamienotes.notetaking.models.Notes;
+import com.thamienotes.notetaking.models.Users;
+import com.thamienotes.notetaking.repositories.FolderRepo;
+
+import jakarta.persistence.EntityManagerFactory;
+
+class FolderServiceTests extends ServiceTestSupport {
+    @Autowired FolderService folderService;
+    @Autowired FolderRepo folderRepo;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void getFoldersReturnsFullNotesInConstantNumberOfStatements() {
+        long fewFolders = statementsForGetFolders(seedUser("few", 2, 2), 2, 2);
+        long manyFolders = statementsForGetFolders(seedUser("many", 50, 5), 50, 5);
+
+        assertThat(manyFolders).isEqualTo(fewFolders);
+        assertThat(manyFolders).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void getFolderSummariesRunsConstantNumberOfStatements() {
+        long fewFolders = statementsForGetFolderSummaries(seedUser("few", 2, 2), 2, 2);
+        long manyFolders = statementsForGetFolderSummaries(seedUser("many", 50, 5), 50, 5);
+
+        assertThat(manyFolders).isEqualTo(fewFolders);
+        assertThat(manyFolders).isLessThanOrEqualTo(2);
+    }
+
+    private long statementsForGetFolders(Users user, int folderCount, int notesPerFolder) {
+        Statistics statistics = startCounting(user);
+
+        List<FolderDetailsDto> folders = folderService.getFolders();
+
+        assertThat(folders).hasSize(folderCount);
+        assertThat(folders).allSatisfy(folder -> {
+            assertThat(folder.getUser().getUsername()).isEqualTo(user.getUsername());
+            assertThat(folder.getNotes()).hasSize(notesPerFolder);
+            assertThat(folder.getNotes()).allSatisfy(note -> assertThat(note.getContent()).startsWith("Body of note"));
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long statementsForGetFolderSummaries(Users user, int folderCount, int notesPerFolder) {
+        Statistics statistics = startCounting(user);
+
+        List<FolderSummaryDto> folders = folderService.getFolderSummaries();
+
+        assertThat(folders).hasSize(folderCount);
+        assertThat(folders).allSatisfy(folder -> assertThat(folder.getNotes()).hasSize(notesPerFolder));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Statistics startCounting(Users user) {
+        entityManager.flush();
+        entityManager.clear();
+        authenticate(user);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private Users seedUser(String username, int folderCount, int notesPerFolder) {
+        Users user = seedUser(username);
+
+        for (int f = 0; f < folderCount; f++) {
+            Folder folder = new Folder();
+            folder.setTitle("Folder " + f);
+            folder.setUser(user);
+            folderRepo.save(folder);
+
+            for (int n = 0; n < notesPerFolder; n++) {
+                Notes note = new Notes();
+                note.setTitle("Note " + n);
+                note.setContent("Body of note " + n + " in folder " + f);
+                note.setUser(user);
+                note.setFolder(folder);
+                noteRepo.save(note);
+            }
+        }
+        return user;
+    }
+}
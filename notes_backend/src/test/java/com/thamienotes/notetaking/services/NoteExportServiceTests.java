@@ -0,0 +1,59 @@
+package com.thamienotes.notetaking.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thamienotes.notetaking.dtos.Note.NoteDetailsDto;
+import com.thamienotes.notetaking.models.Users;
+
+class NoteExportServiceTests extends ServiceTestSupport {
+    @Autowired NoteExportService noteExportService;
+    @Autowired ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seed() {
+        Users user = seedUser("exporter");
+        seedNote(user, "First", "one");
+        seedNote(user, "Second", "two");
+        seedNote(seedUser("bystander"), "Hidden", "not yours");
+        authenticate(user);
+    }
+
+    @Test
+    void ndjsonExportStreamsEveryNoteOfTheUser() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        noteExportService.exportNdjson().writeTo(out);
+
+        List<NoteDetailsDto> notes = objectMapper.readerFor(NoteDetailsDto.class)
+                .<NoteDetailsDto>readValues(out.toByteArray())
+                .readAll();
+        assertThat(notes).extracting(NoteDetailsDto::getTitle).containsExactlyInAnyOrder("First", "Second");
+        assertThat(notes).extracting(NoteDetailsDto::getContent).containsExactlyInAnyOrder("one", "two");
+    }
+
+    @Test
+    void markdownExportWritesOneEntryPerNote() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        noteExportService.exportMarkdownZip().writeTo(out);
+
+        List<String> documents = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8)) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                documents.add(new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertThat(documents).containsExactlyInAnyOrder("# First\n\none", "# Second\n\ntwo");
+    }
+}
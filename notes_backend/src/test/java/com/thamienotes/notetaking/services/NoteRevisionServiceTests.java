@@ -0,0 +1,70 @@
+package com.thamienotes.notetaking.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import com.thamienotes.notetaking.dtos.Note.NoteDetailsDto;
+import com.thamienotes.notetaking.dtos.Note.NoteRevisionSummaryDto;
+import com.thamienotes.notetaking.models.NoteRevision;
+import com.thamienotes.notetaking.models.Notes;
+import com.thamienotes.notetaking.models.Users;
+import com.thamienotes.notetaking.repositories.NoteRevisionRepo;
+
+@TestPropertySource(properties = "notes.revisions.snapshot-interval=3")
+class NoteRevisionServiceTests extends ServiceTestSupport {
+    @Autowired NoteService noteService;
+    @Autowired NoteRevisionService noteRevisionService;
+    @Autowired NoteRevisionRepo noteRevisionRepo;
+
+    private Notes note;
+
+    @BeforeEach
+    void seed() {
+        Users user = seedUser("historian");
+        note = seedNote(user, "Draft", "first draft");
+        authenticate(user);
+    }
+
+    @Test
+    void everyRevisionCanBeReconstructed() {
+        List<String> contents = new ArrayList<>(List.of("first draft"));
+        for (int i = 1; i <= 7; i++) {
+            String content = contents.get(contents.size() - 1).replace("draft", "draft " + i) + "\nline " + i;
+            update("Draft " + i, content);
+            contents.add(content);
+        }
+
+        List<NoteRevisionSummaryDto> revisions = noteRevisionService.getRevisions(note.getId());
+        assertThat(revisions).hasSize(contents.size());
+        for (int i = 0; i < contents.size(); i++) {
+            assertThat(noteRevisionService.getRevision(note.getId(), i + 1).getContent()).isEqualTo(contents.get(i));
+        }
+        assertThat(noteRevisionRepo.findByNoteIdOrderByRevisionNo(note.getId()))
+                .filteredOn(revision -> NoteRevision.SNAPSHOT.equals(revision.getKind()))
+                .hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void restoreWritesOldContentAsNewRevision() {
+        update("Draft", "second draft");
+
+        NoteDetailsDto restored = noteService.restoreRevision(note.getId(), 1);
+
+        assertThat(restored.getContent()).isEqualTo("first draft");
+        assertThat(noteRevisionService.getRevisions(note.getId())).hasSize(3);
+    }
+
+    private void update(String title, String content) {
+        NoteDetailsDto dto = new NoteDetailsDto();
+        dto.setTitle(title);
+        dto.setContent(content);
+        noteService.updateNote(note.getId(), dto);
+    }
+}
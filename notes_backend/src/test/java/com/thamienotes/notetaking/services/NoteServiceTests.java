@@ -0,0 +1,84 @@
+package com.thamienotes.notetaking.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.thamienotes.notetaking.dtos.Note.NotePatchDto;
+import com.thamienotes.notetaking.dtos.Note.NoteTextEditDto;
+import com.thamienotes.notetaking.dtos.Note.NoteVersionDto;
+import com.thamienotes.notetaking.models.Notes;
+import com.thamienotes.notetaking.models.Users;
+
+class NoteServiceTests extends ServiceTestSupport {
+    @Autowired NoteService noteService;
+
+    private Notes note;
+
+    @BeforeEach
+    void seed() {
+        Users user = seedUser("patcher");
+        note = seedNote(user, "Groceries", "milk, eggs, bread");
+        authenticate(user);
+    }
+
+    @Test
+    void patchAppliesEditsAndBumpsVersion() {
+        long baseVersion = note.getVersion();
+        NoteVersionDto result = noteService.patchNote(note.getId(),
+                patch(baseVersion, edit(6, 4, "butter"), edit(0, 0, "- ")));
+        entityManager.flush();
+        entityManager.clear();
+
+        Notes stored = noteRepo.findById(note.getId()).orElseThrow();
+        assertThat(result.getVersion()).isEqualTo(baseVersion + 1);
+        assertThat(stored.getVersion()).isEqualTo(baseVersion + 1);
+        assertThat(stored.getContent()).isEqualTo("- milk, butter, bread");
+    }
+
+    @Test
+    void patchAgainstStaleVersionIsRejected() {
+        long baseVersion = note.getVersion();
+        noteService.patchNote(note.getId(), patch(baseVersion, edit(0, 4, "oat milk")));
+
+        assertThatThrownBy(() -> noteService.patchNote(note.getId(), patch(baseVersion, edit(0, 0, "x"))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    @Test
+    void patchOutsideNoteIsRejected() {
+        assertThatThrownBy(() -> noteService.patchNote(note.getId(), patch(note.getVersion(), edit(10, 50, ""))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void patchWithOverflowingDeleteCountIsRejected() {
+        assertThatThrownBy(() -> noteService.patchNote(note.getId(), patch(note.getVersion(), edit(5, Integer.MAX_VALUE, ""))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    private NotePatchDto patch(long baseVersion, NoteTextEditDto... edits) {
+        NotePatchDto dto = new NotePatchDto();
+        dto.setBaseVersion(baseVersion);
+        dto.setEdits(List.of(edits));
+        return dto;
+    }
+
+    private NoteTextEditDto edit(int offset, int deleteCount, String insert) {
+        NoteTextEditDto edit = new NoteTextEditDto();
+        edit.setOffset(offset);
+        edit.setDeleteCount(deleteCount);
+        edit.setInsert(insert);
+        return edit;
+    }
+}
@@ -0,0 +1,56 @@
+package com.thamienotes.notetaking.services;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thamienotes.notetaking.models.Notes;
+import com.thamienotes.notetaking.models.Users;
+import com.thamienotes.notetaking.repositories.NoteRepo;
+import com.thamienotes.notetaking.repositories.UserRepo;
+import com.thamienotes.notetaking.securitystuff.AuthenticatedUser;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+abstract class ServiceTestSupport {
+    @Autowired UserRepo userRepo;
+    @Autowired NoteRepo noteRepo;
+    @Autowired EntityManager entityManager;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    Users seedUser(String username) {
+        Users user = new Users();
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setRole("USER");
+        return userRepo.save(user);
+    }
+
+    Notes seedNote(Users user, String title, String content) {
+        Notes note = new Notes();
+        note.setTitle(title);
+        note.setContent(content);
+        note.setUser(user);
+        return noteRepo.saveAndFlush(note);
+    }
+
+    void authenticate(Users user) {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getUsername(), "ROLE_USER");
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+}
@@ -0,0 +1,69 @@
+package com.thamienotes.notetaking.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.thamienotes.notetaking.dtos.Note.NoteTitleDto;
+
+class TitleIndexTests {
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Test
+    void suggestsByWordStartNewestFirst() {
+        TitleIndex index = new TitleIndex(List.of(
+                new NoteTitleDto("a", "Weekly planning", BASE),
+                new NoteTitleDto("b", "Project plan", BASE.plusDays(1)),
+                new NoteTitleDto("c", "Groceries", BASE.plusDays(2))));
+
+        assertThat(ids(index.suggest("pla", 10))).containsExactly("b", "a");
+    }
+
+    @Test
+    void incrementalUpdatesAreVisibleWithoutRebuild() {
+        TitleIndex index = new TitleIndex(List.of(
+                new NoteTitleDto("a", "Weekly planning", BASE),
+                new NoteTitleDto("b", "Project plan", BASE.plusDays(1))));
+
+        index.put("a", "Weekly planning", millis(BASE.plusDays(5)));
+        index.put("c", "Planets", millis(BASE.plusDays(3)));
+        index.put("b", "Project retro", millis(BASE.plusDays(4)));
+        index.remove("missing");
+
+        assertThat(ids(index.suggest("pla", 10))).containsExactly("a", "c");
+        assertThat(ids(index.suggest("retro", 10))).containsExactly("b");
+
+        index.remove("c");
+        assertThat(ids(index.suggest("pla", 10))).containsExactly("a");
+    }
+
+    @Test
+    void foldsLargeDeltasBackIntoTheSnapshot() {
+        List<NoteTitleDto> titles = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            titles.add(new NoteTitleDto("n" + i, "Note " + i, BASE));
+        }
+        TitleIndex index = new TitleIndex(titles);
+
+        for (int i = 0; i < 200; i++) {
+            index.put("n" + (i % 10), "Note " + (i % 10), millis(BASE.plusMinutes(i)));
+            index.put("x" + i, "Extra " + i, millis(BASE.plusMinutes(i)));
+        }
+
+        assertThat(ids(index.suggest("note", 3))).containsExactly("n9", "n8", "n7");
+        assertThat(index.suggest("extra", 500)).hasSize(200);
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static List<String> ids(List<NoteTitleDto> hits) {
+        return hits.stream().map(NoteTitleDto::getId).toList();
+    }
+}
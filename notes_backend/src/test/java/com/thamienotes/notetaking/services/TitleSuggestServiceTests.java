@@ -0,0 +1,47 @@
+package com.thamienotes.notetaking.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.thamienotes.notetaking.dtos.Note.NoteTitleDto;
+import com.thamienotes.notetaking.models.Notes;
+import com.thamienotes.notetaking.models.Users;
+import com.thamienotes.notetaking.repositories.NoteRepo;
+
+class TitleSuggestServiceTests {
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Test
+    void changesCommittedDuringALoadAreReplayed() {
+        TitleSuggestService service = new TitleSuggestService(100, 15);
+        service.noteRepo = mock(NoteRepo.class);
+        when(service.noteRepo.findTitlesByUserId("u")).thenAnswer(invocation -> {
+            List<NoteTitleDto> snapshot = List.of(
+                    new NoteTitleDto("a", "Planning", BASE),
+                    new NoteTitleDto("b", "Plan B", BASE));
+            service.titleChanged(note("u", "c", "Planets"));
+            service.noteRemoved("u", "b");
+            return snapshot;
+        });
+
+        List<NoteTitleDto> suggestions = service.suggest("u", "pla", 10);
+
+        assertThat(suggestions).extracting(NoteTitleDto::getId).containsExactlyInAnyOrder("a", "c");
+    }
+
+    private Notes note(String userId, String id, String title) {
+        Users user = new Users();
+        user.setId(userId);
+        Notes note = new Notes();
+        note.setId(id);
+        note.setTitle(title);
+        note.setUser(user);
+        return note;
+    }
+}